@@ -40,6 +40,126 @@ public abstract class BooleanIntPair implements PrimitivePair<Boolean, Integer>,
         return ImmutableBooleanIntPair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static int compare(boolean left1, int right1, boolean left2, int right2) {
+        int cmp = Boolean.compare(left1, left2);
+        return cmp != 0 ? cmp : Integer.compare(right1, right2);
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(boolean left1, int right1, boolean left2, int right2) {
+        return left1 == left2 && right1 == right2;
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(boolean left, int right) {
+        return (left ? 1231 : 1237) ^ right;
+    }
+
+    /**
+     * The packed form of {@code (false, 0)}, for use as a "not found" result.
+     *
+     * @see #pack(boolean, int)
+     */
+    public static final long NOT_FOUND = 0;
+
+    /**
+     * Packs a {@code boolean} and an {@code int} into a single {@code long}, so that the pair can
+     * be returned from a method without allocating. The right element occupies the low 32 bits
+     * and the left element the bit above them.
+     * <p>
+     * This is intended for "maybe" results, where the left element indicates whether the right
+     * element holds a value:
+     *
+     * <pre>
+     * long result = lookup(key);
+     * if (BooleanIntPair.isFound(result)) {
+     *     use(BooleanIntPair.valueOf(result));
+     * }
+     * </pre>
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the packed pair
+     */
+    public static long pack(boolean left, int right) {
+        return (left ? 1L << 32 : 0) | right & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Packs {@code (true, value)}.
+     *
+     * @param value  the right element
+     * @return the packed pair
+     * @see #pack(boolean, int)
+     */
+    public static long packFound(int value) {
+        return 1L << 32 | value & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Gets the left element of a packed pair.
+     *
+     * @param packed  a pair packed by {@link #pack(boolean, int)}
+     * @return the left element
+     */
+    public static boolean isFound(long packed) {
+        return (packed & 1L << 32) != 0;
+    }
+
+    /**
+     * Gets the right element of a packed pair.
+     *
+     * @param packed  a pair packed by {@link #pack(boolean, int)}
+     * @return the right element
+     */
+    public static int valueOf(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Obtains an immutable pair from its packed form.
+     *
+     * @param packed  a pair packed by {@link #pack(boolean, int)}
+     * @return the unpacked pair, not null
+     */
+    public static BooleanIntPair unpack(long packed) {
+        return ImmutableBooleanIntPair.of(isFound(packed), valueOf(packed));
+    }
+
+    /**
+     * Packs this pair into a single {@code long}.
+     *
+     * @return the packed pair
+     * @see #pack(boolean, int)
+     */
+    public long pack() {
+        return pack(getLeft(), getRight());
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -62,8 +182,7 @@ public abstract class BooleanIntPair implements PrimitivePair<Boolean, Integer>,
      */
     @Override
     public int compareTo(BooleanIntPair other) {
-        int cmp = Boolean.compare(getLeft(), other.getLeft());
-        return cmp != 0 ? cmp : Integer.compare(getRight(), other.getRight());
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
@@ -79,7 +198,7 @@ public abstract class BooleanIntPair implements PrimitivePair<Boolean, Integer>,
         }
         if (obj instanceof BooleanIntPair) {
             BooleanIntPair o = (BooleanIntPair) obj;
-            return getLeft() == o.getLeft() && getRight() == o.getRight();
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -88,12 +207,12 @@ public abstract class BooleanIntPair implements PrimitivePair<Boolean, Integer>,
      * Returns a hash code that follows the definition in {@link java.util.Map.Entry#hashCode()}.
      *
      * @return the hash code
-     * @see Boolean#hashCode(boolean)
-     * @see Integer#hashCode(int)
+     * @see Boolean#hashCode()
+     * @see Integer#hashCode()
      */
     @Override
     public int hashCode() {
-        return Boolean.hashCode(getLeft()) ^ Integer.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
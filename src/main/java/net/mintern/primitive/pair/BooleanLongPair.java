@@ -40,6 +40,45 @@ public abstract class BooleanLongPair implements PrimitivePair<Boolean, Long>, C
         return ImmutableBooleanLongPair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static int compare(boolean left1, long right1, boolean left2, long right2) {
+        int cmp = Boolean.compare(left1, left2);
+        return cmp != 0 ? cmp : Long.compare(right1, right2);
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(boolean left1, long right1, boolean left2, long right2) {
+        return left1 == left2 && right1 == right2;
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(boolean left, long right) {
+        return (left ? 1231 : 1237) ^ (int) (right ^ (right >>> 32));
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -62,8 +101,7 @@ public abstract class BooleanLongPair implements PrimitivePair<Boolean, Long>, C
      */
     @Override
     public int compareTo(BooleanLongPair other) {
-        int cmp = Boolean.compare(getLeft(), other.getLeft());
-        return cmp != 0 ? cmp : Long.compare(getRight(), other.getRight());
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
@@ -79,7 +117,7 @@ public abstract class BooleanLongPair implements PrimitivePair<Boolean, Long>, C
         }
         if (obj instanceof BooleanLongPair) {
             BooleanLongPair o = (BooleanLongPair) obj;
-            return getLeft() == o.getLeft() && getRight() == o.getRight();
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -88,12 +126,12 @@ public abstract class BooleanLongPair implements PrimitivePair<Boolean, Long>, C
      * Returns a hash code that follows the definition in {@link java.util.Map.Entry#hashCode()}.
      *
      * @return the hash code
-     * @see Boolean#hashCode(boolean)
-     * @see Long#hashCode(long)
+     * @see Boolean#hashCode()
+     * @see Long#hashCode()
      */
     @Override
     public int hashCode() {
-        return Boolean.hashCode(getLeft()) ^ Long.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
@@ -0,0 +1,400 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code (boolean, boolean)} pairs, stored as two parallel arrays so that
+ * large numbers of pairs can be held without allocating a {@link BooleanPair} for each one.
+ * <p>
+ * Elements can be read without allocation through {@link #getLeft(int)} and
+ * {@link #getRight(int)}, or copied into a reusable {@link MutableBooleanPair} cursor with
+ * {@link #get(int, MutableBooleanPair)}.
+ * <p>
+ * Not #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public class BooleanPairList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    boolean[] lefts;
+    boolean[] rights;
+    int size;
+
+    /**
+     * Creates an empty list with a default initial capacity.
+     */
+    public BooleanPairList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list that can hold {@code initialCapacity} pairs before growing.
+     *
+     * @param initialCapacity  the initial capacity, not negative
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public BooleanPairList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("negative capacity: " + initialCapacity);
+        }
+        lefts = new boolean[initialCapacity];
+        rights = new boolean[initialCapacity];
+    }
+
+    /**
+     * Creates a list by pairing up the elements of two arrays of equal length. The arrays are
+     * copied, so later changes to them are not reflected in the list.
+     *
+     * @param lefts  the left elements, not null
+     * @param rights  the right elements, not null
+     * @return a new list of {@code lefts.length} pairs, not null
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static BooleanPairList zip(boolean[] lefts, boolean[] rights) {
+        if (lefts.length != rights.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: " + lefts.length + " != " + rights.length);
+        }
+        BooleanPairList list = new BooleanPairList(lefts.length);
+        list.addAll(lefts, 0, rights, 0, lefts.length);
+        return list;
+    }
+
+    /**
+     * Creates a list holding the elements of the given pairs, in order.
+     *
+     * @param pairs  the pairs to copy, not null and not containing null
+     * @return a new list of {@code pairs.length} pairs, not null
+     */
+    public static BooleanPairList of(BooleanPair... pairs) {
+        BooleanPairList list = new BooleanPairList(pairs.length);
+        for (BooleanPair pair: pairs) {
+            list.add(pair.getLeft(), pair.getRight());
+        }
+        return list;
+    }
+
+    /**
+     * Returns the number of pairs in this list.
+     *
+     * @return the number of pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this list holds no pairs.
+     *
+     * @return true if {@link #size()} is zero
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all pairs from this list. The capacity is retained.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a pair to the end of this list.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(boolean left, boolean right) {
+        int s = size;
+        if (s == lefts.length) {
+            grow(s + 1);
+        }
+        lefts[s] = left;
+        rights[s] = right;
+        size = s + 1;
+    }
+
+    /**
+     * Appends the elements of a pair to the end of this list.
+     *
+     * @param pair  the pair to append, not null
+     */
+    public void add(BooleanPair pair) {
+        add(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Appends {@code length} pairs formed from the elements of two arrays, copying them with
+     * {@link System#arraycopy}.
+     *
+     * @param lefts  the array holding the left elements, not null
+     * @param leftOffset  the index of the first left element
+     * @param rights  the array holding the right elements, not null
+     * @param rightOffset  the index of the first right element
+     * @param length  the number of pairs to append
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void addAll(boolean[] lefts, int leftOffset, boolean[] rights, int rightOffset,
+            int length) {
+        checkRange(leftOffset, length, lefts.length);
+        checkRange(rightOffset, length, rights.length);
+        int s = size;
+        ensureCapacity(s + length);
+        System.arraycopy(lefts, leftOffset, this.lefts, s, length);
+        System.arraycopy(rights, rightOffset, this.rights, s, length);
+        size = s + length;
+    }
+
+    /**
+     * Appends all of the pairs in another list.
+     *
+     * @param other  the list whose pairs to append, not null
+     */
+    public void addAll(BooleanPairList other) {
+        int n = other.size;
+        ensureCapacity(size + n);
+        System.arraycopy(other.lefts, 0, lefts, size, n);
+        System.arraycopy(other.rights, 0, rights, size, n);
+        size += n;
+    }
+
+    /**
+     * Gets the left element of the pair at the given index.
+     *
+     * @param index  the index of the pair
+     * @return the left element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean getLeft(int index) {
+        checkIndex(index);
+        return lefts[index];
+    }
+
+    /**
+     * Gets the right element of the pair at the given index.
+     *
+     * @param index  the index of the pair
+     * @return the right element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean getRight(int index) {
+        checkIndex(index);
+        return rights[index];
+    }
+
+    /**
+     * Gets the pair at the given index as a new immutable pair.
+     *
+     * @param index  the index of the pair
+     * @return the pair at {@code index}, not null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public ImmutableBooleanPair get(int index) {
+        return new ImmutableBooleanPair(getLeft(index), rights[index]);
+    }
+
+    /**
+     * Copies the pair at the given index into {@code into}, allowing a single mutable pair to be
+     * reused as a cursor over the list.
+     *
+     * @param index  the index of the pair
+     * @param into  the pair to overwrite, not null
+     * @return {@code into}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public MutableBooleanPair get(int index, MutableBooleanPair into) {
+        into.left = getLeft(index);
+        into.right = rights[index];
+        return into;
+    }
+
+    /**
+     * Replaces the pair at the given index.
+     *
+     * @param index  the index of the pair
+     * @param left  the new left element
+     * @param right  the new right element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void set(int index, boolean left, boolean right) {
+        checkIndex(index);
+        lefts[index] = left;
+        rights[index] = right;
+    }
+
+    /**
+     * Copies the left elements into a new array.
+     *
+     * @return an array of {@link #size()} left elements, not null
+     */
+    public boolean[] toLeftArray() {
+        return Arrays.copyOf(lefts, size);
+    }
+
+    /**
+     * Copies the right elements into a new array.
+     *
+     * @return an array of {@link #size()} right elements, not null
+     */
+    public boolean[] toRightArray() {
+        return Arrays.copyOf(rights, size);
+    }
+
+    /**
+     * Copies {@code length} pairs starting at {@code index} out into two separate arrays, using
+     * {@link System#arraycopy}. This is the inverse of
+     * {@link #addAll(boolean[], int, boolean[], int, int) addAll}.
+     *
+     * @param index  the index of the first pair to copy
+     * @param lefts  the array that receives the left elements, not null
+     * @param leftOffset  the index in {@code lefts} of the first left element
+     * @param rights  the array that receives the right elements, not null
+     * @param rightOffset  the index in {@code rights} of the first right element
+     * @param length  the number of pairs to copy
+     * @throws IndexOutOfBoundsException if any range is out of bounds
+     */
+    public void unzip(int index, boolean[] lefts, int leftOffset, boolean[] rights, int rightOffset,
+            int length) {
+        checkRange(index, length, size);
+        checkRange(leftOffset, length, lefts.length);
+        checkRange(rightOffset, length, rights.length);
+        System.arraycopy(this.lefts, index, lefts, leftOffset, length);
+        System.arraycopy(this.rights, index, rights, rightOffset, length);
+    }
+
+    /**
+     * Copies the pairs into a new array of immutable pairs.
+     *
+     * @return an array of {@link #size()} pairs, not null
+     */
+    public ImmutableBooleanPair[] toArray() {
+        ImmutableBooleanPair[] array = new ImmutableBooleanPair[size];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new ImmutableBooleanPair(lefts[i], rights[i]);
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the pairs in place into the order defined by {@link BooleanPair#compareTo}:
+     * by the left element, then by the right element. No pair objects are allocated.
+     */
+    public void sort() {
+        PairSorts.sort(lefts, rights, 0, size);
+    }
+
+    /**
+     * Ensures that the list can hold at least {@code minCapacity} pairs without growing.
+     *
+     * @param minCapacity  the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > lefts.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing arrays to exactly {@link #size()} elements.
+     */
+    public void trimToSize() {
+        if (size < lefts.length) {
+            lefts = Arrays.copyOf(lefts, size);
+            rights = Arrays.copyOf(rights, size);
+        }
+    }
+
+    /**
+     * Compares this list to another. Two lists are equal if they hold the same number of pairs and
+     * the pairs at each index are equal as defined by {@link BooleanPair#equals(Object)}.
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if the lists hold equal pairs in the same order
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BooleanPairList)) {
+            return false;
+        }
+        BooleanPairList o = (BooleanPairList) obj;
+        return size == o.size && PairArrays.equals(lefts, o.lefts, size)
+                && PairArrays.equals(rights, o.rights, size);
+    }
+
+    /**
+     * Returns a hash code that is the same as the {@link java.util.List#hashCode()} of a list of
+     * the equivalent pairs.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + BooleanPair.hash(lefts[i], rights[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns a String representation of this list using the format {@code [($left,$right), ...]}.
+     *
+     * @return a string describing this list, not null
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(lefts[i]).append(',').append(rights[i]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("required capacity too large: " + minCapacity);
+        }
+        int capacity = lefts.length;
+        int newCapacity = capacity + (capacity >> 1);
+        if (newCapacity < minCapacity || newCapacity > MAX_CAPACITY) {
+            newCapacity = Math.max(minCapacity, Math.min(newCapacity, MAX_CAPACITY));
+        }
+        lefts = Arrays.copyOf(lefts, newCapacity);
+        rights = Arrays.copyOf(rights, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    private static void checkRange(int offset, int length, int arrayLength) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset " + offset + ", length " + length + ", array length " + arrayLength);
+        }
+    }
+}
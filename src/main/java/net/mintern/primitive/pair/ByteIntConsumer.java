@@ -0,0 +1,30 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Accepts the left and right elements of a {@link ByteIntPair} as primitive arguments, so that
+ * pairs can be passed along without allocating pair objects.
+ *
+ * @author Brandon Mintern
+ */
+public interface ByteIntConsumer {
+
+    /**
+     * Accepts a pair of elements.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    void accept(byte left, int right);
+}
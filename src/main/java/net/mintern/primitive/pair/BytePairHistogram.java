@@ -0,0 +1,313 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A histogram of {@link BytePair} counts. Since there are exactly 65,536 distinct byte pairs, the
+ * counts are kept in a dense {@code long[65536]} indexed by {@code (left, right)} rather than in a
+ * map, so counting a pair is a single array increment.
+ * <p>
+ * The {@code accumulate} methods count the byte bigrams of a payload: every pair of adjacent bytes
+ * {@code (b[i], b[i + 1])}.
+ * <p>
+ * Not #ThreadSafe#. Histograms filled by separate threads can be combined with
+ * {@link #merge(BytePairHistogram)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class BytePairHistogram {
+
+    private static final int SIZE = 1 << 16;
+
+    private final long[] counts = new long[SIZE];
+    private long total;
+
+    private static int index(byte left, byte right) {
+        return (left & 0xFF) << 8 | right & 0xFF;
+    }
+
+    /**
+     * Counts one occurrence of a pair.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(byte left, byte right) {
+        counts[index(left, right)]++;
+        total++;
+    }
+
+    /**
+     * Counts {@code count} occurrences of a pair.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(byte left, byte right, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        counts[index(left, right)] += count;
+        total += count;
+    }
+
+    /**
+     * Counts the {@code length - 1} bigrams in a range of a {@code byte} array. Bigrams that span
+     * two calls are not counted.
+     *
+     * @param bytes  the payload, not null
+     * @param offset  the index of the first byte
+     * @param length  the number of bytes
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void accumulate(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset " + offset + ", length " + length + ", array length " + bytes.length);
+        }
+        if (length < 2) {
+            return;
+        }
+        long[] c = counts;
+        int end = offset + length;
+        int prev = (bytes[offset] & 0xFF) << 8;
+        for (int i = offset + 1; i < end; i++) {
+            int cur = bytes[i] & 0xFF;
+            c[prev | cur]++;
+            prev = cur << 8;
+        }
+        total += length - 1;
+    }
+
+    /**
+     * Counts the bigrams in the remaining bytes of a buffer, advancing its position to its limit.
+     * Bigrams that span two calls are not counted.
+     *
+     * @param bytes  the payload, not null
+     */
+    public void accumulate(ByteBuffer bytes) {
+        int pos = bytes.position();
+        int end = bytes.limit();
+        if (bytes.hasArray()) {
+            accumulate(bytes.array(), bytes.arrayOffset() + pos, end - pos);
+        } else if (end - pos >= 2) {
+            long[] c = counts;
+            int prev = (bytes.get(pos) & 0xFF) << 8;
+            for (int i = pos + 1; i < end; i++) {
+                int cur = bytes.get(i) & 0xFF;
+                c[prev | cur]++;
+                prev = cur << 8;
+            }
+            total += end - pos - 1;
+        }
+        bytes.position(end);
+    }
+
+    /**
+     * Adds all of the counts of another histogram to this one.
+     *
+     * @param other  the histogram to add, not null
+     */
+    public void merge(BytePairHistogram other) {
+        long[] c = counts;
+        long[] o = other.counts;
+        for (int i = 0; i < SIZE; i++) {
+            c[i] += o[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Resets every count to zero.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    /**
+     * Gets the number of times a pair has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the count of {@code (left, right)}
+     */
+    public long get(byte left, byte right) {
+        return counts[index(left, right)];
+    }
+
+    /**
+     * Gets the sum of all counts.
+     *
+     * @return the total number of pairs counted
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the {@code n} most frequent pairs, most frequent first. Pairs with equal counts are
+     * ordered by {@link BytePair#compareTo}. Pairs that were never counted are not returned, so
+     * fewer than {@code n} pairs may be returned.
+     *
+     * @param n  the maximum number of pairs to return, not negative
+     * @return the most frequent pairs with their counts, not null
+     * @throws IllegalArgumentException if {@code n} is negative
+     */
+    public List<ObjLongPair<BytePair>> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("negative n: " + n);
+        }
+        n = Math.min(n, SIZE);
+        // A min-heap of the n best indices seen so far, worst at the root.
+        int[] heap = new int[n];
+        int size = 0;
+        long[] c = counts;
+        for (int i = 0; i < SIZE && n > 0; i++) {
+            if (c[i] == 0) {
+                continue;
+            }
+            if (size < n) {
+                heap[size] = i;
+                siftUp(heap, size++);
+            } else if (isBetter(c, i, heap[0])) {
+                heap[0] = i;
+                siftDown(heap, size);
+            }
+        }
+        ObjLongPair<BytePair>[] sorted = newArray(size);
+        while (size > 0) {
+            int i = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+            sorted[size] = ObjLongPair.<BytePair>of(
+                    ImmutableBytePair.of((byte) (i >>> 8), (byte) i), c[i]);
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjLongPair<BytePair>[] newArray(int size) {
+        return new ObjLongPair[size];
+    }
+
+    /**
+     * Returns true if the pair at index {@code a} ranks ahead of the pair at index {@code b}.
+     */
+    private static boolean isBetter(long[] counts, int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b];
+        }
+        // Indices order pairs like BytePair.compareTo, except that the sign bit sorts high.
+        return (a ^ 0x8080) < (b ^ 0x8080);
+    }
+
+    private void siftUp(int[] heap, int k) {
+        int x = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (!isBetter(counts, heap[parent], x)) {
+                break;
+            }
+            heap[k] = heap[parent];
+            k = parent;
+        }
+        heap[k] = x;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int x = heap[0];
+        int k = 0;
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && isBetter(counts, heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!isBetter(counts, x, heap[child])) {
+                break;
+            }
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = x;
+    }
+
+    /**
+     * Computes the cosine distance between the count vectors of two histograms: one minus the
+     * cosine of the angle between them. Histograms with the same relative frequencies have a
+     * distance of 0, and histograms with no pairs in common have a distance of 1. An empty
+     * histogram is at distance 1 from any non-empty one and 0 from another empty one.
+     *
+     * @param other  the other histogram, not null
+     * @return the cosine distance, between 0 and 1
+     */
+    public double cosineDistance(BytePairHistogram other) {
+        long[] a = counts;
+        long[] b = other.counts;
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < SIZE; i++) {
+            double x = a[i];
+            double y = b[i];
+            dot += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        if (normA == 0 || normB == 0) {
+            return normA == normB ? 0 : 1;
+        }
+        double cos = dot / (Math.sqrt(normA) * Math.sqrt(normB));
+        return Math.max(0, 1 - cos);
+    }
+
+    /**
+     * Computes the symmetric chi-square distance between the relative frequencies {@code p} and
+     * {@code q} of two histograms: the sum over all pairs of {@code (p - q)^2 / (p + q)}.
+     * Identical distributions have a distance of 0, and disjoint ones have a distance of 2. An
+     * empty histogram is at distance 2 from any non-empty one and 0 from another empty one.
+     *
+     * @param other  the other histogram, not null
+     * @return the chi-square distance, between 0 and 2
+     */
+    public double chiSquareDistance(BytePairHistogram other) {
+        if (total == 0 || other.total == 0) {
+            return total == other.total ? 0 : 2;
+        }
+        long[] a = counts;
+        long[] b = other.counts;
+        double scaleA = 1.0 / total;
+        double scaleB = 1.0 / other.total;
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if ((a[i] | b[i]) != 0) {
+                double p = a[i] * scaleA;
+                double q = b[i] * scaleB;
+                double d = p - q;
+                sum += d * d / (p + q);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Run-length encodes {@code byte} sequences as {@code (symbol, count)} runs and decodes them again,
+ * without allocating a {@link ByteIntPair} per run.
+ * <p>
+ * Runs are emitted to a {@link ByteIntConsumer} or collected in a {@link ByteIntPairList}. Every
+ * emitted run has a positive count, and adjacent runs never share a symbol unless the first run
+ * has reached {@link Integer#MAX_VALUE}. Input that arrives in chunks can be encoded with an
+ * {@link Encoder}, which carries the current run across chunk boundaries.
+ *
+ * @author Brandon Mintern
+ */
+public final class ByteRunLengthCodec {
+
+    private ByteRunLengthCodec() {}
+
+    /**
+     * Encodes the remaining bytes of a buffer into a new list of runs. The buffer's position is
+     * advanced to its limit.
+     *
+     * @param bytes  the bytes to encode, not null
+     * @return the runs, not null
+     */
+    public static ByteIntPairList encode(ByteBuffer bytes) {
+        ByteIntPairList runs = new ByteIntPairList();
+        Encoder encoder = new Encoder(runs);
+        encoder.write(bytes);
+        encoder.flush();
+        return runs;
+    }
+
+    /**
+     * Encodes a range of a {@code byte} array, emitting each run to {@code sink}.
+     *
+     * @param bytes  the bytes to encode, not null
+     * @param offset  the index of the first byte to encode
+     * @param length  the number of bytes to encode
+     * @param sink  receives each {@code (symbol, count)} run, not null
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static void encode(byte[] bytes, int offset, int length, ByteIntConsumer sink) {
+        Encoder encoder = new Encoder(sink);
+        encoder.write(bytes, offset, length);
+        encoder.flush();
+    }
+
+    /**
+     * Returns the number of bytes that the given runs decode to.
+     *
+     * @param runs  the runs, not null
+     * @return the sum of the run counts
+     * @throws IllegalArgumentException if any run has a negative count
+     */
+    public static long decodedLength(ByteIntPairList runs) {
+        long length = 0;
+        int[] counts = runs.rights;
+        for (int i = 0, n = runs.size; i < n; i++) {
+            int count = counts[i];
+            if (count < 0) {
+                throw new IllegalArgumentException("negative run count: " + count);
+            }
+            length += count;
+        }
+        return length;
+    }
+
+    /**
+     * Decodes runs into a {@code byte} array.
+     *
+     * @param runs  the runs to decode, not null
+     * @param out  the array to decode into, not null
+     * @param offset  the index in {@code out} of the first decoded byte
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if any run has a negative count
+     * @throws IndexOutOfBoundsException if {@code out} is too small to hold the decoded bytes
+     */
+    public static int decode(ByteIntPairList runs, byte[] out, int offset) {
+        long length = decodedLength(runs);
+        if (offset < 0 || offset > out.length || length > out.length - offset) {
+            throw new IndexOutOfBoundsException("cannot decode " + length + " bytes at offset "
+                    + offset + " of an array of length " + out.length);
+        }
+        fill(runs, out, offset);
+        return (int) length;
+    }
+
+    /**
+     * Decodes runs into a buffer at its current position, advancing the position past the decoded
+     * bytes. Nothing is written if the buffer is too small.
+     *
+     * @param runs  the runs to decode, not null
+     * @param out  the buffer to decode into, not null
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if any run has a negative count
+     * @throws BufferOverflowException if fewer bytes remain in {@code out} than are decoded
+     */
+    public static int decode(ByteIntPairList runs, ByteBuffer out) {
+        long length = decodedLength(runs);
+        if (length > out.remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            fill(runs, out.array(), out.arrayOffset() + out.position());
+            out.position(out.position() + (int) length);
+        } else {
+            byte[] symbols = runs.lefts;
+            int[] counts = runs.rights;
+            byte[] buf = null;
+            for (int i = 0, n = runs.size; i < n; i++) {
+                byte b = symbols[i];
+                int count = counts[i];
+                if (count <= 8) {
+                    for (int j = 0; j < count; j++) {
+                        out.put(b);
+                    }
+                } else {
+                    if (buf == null) {
+                        buf = new byte[4096];
+                    }
+                    Arrays.fill(buf, b);
+                    for (; count > buf.length; count -= buf.length) {
+                        out.put(buf);
+                    }
+                    out.put(buf, 0, count);
+                }
+            }
+        }
+        return (int) length;
+    }
+
+    private static void fill(ByteIntPairList runs, byte[] out, int offset) {
+        byte[] symbols = runs.lefts;
+        int[] counts = runs.rights;
+        int pos = offset;
+        for (int i = 0, n = runs.size; i < n; i++) {
+            int end = pos + counts[i];
+            Arrays.fill(out, pos, end, symbols[i]);
+            pos = end;
+        }
+    }
+
+    /**
+     * A streaming run-length encoder. Bytes may be written in any number of chunks; a run that
+     * spans chunks is emitted once it ends, or when {@link #flush()} is called.
+     * <p>
+     * Not #ThreadSafe#
+     */
+    public static final class Encoder {
+
+        private final ByteIntConsumer sink;
+        private final ByteIntPairList runs;
+        private byte symbol;
+        private int count;
+
+        /**
+         * Creates an encoder that emits each run to {@code sink}.
+         *
+         * @param sink  receives each {@code (symbol, count)} run, not null
+         */
+        public Encoder(ByteIntConsumer sink) {
+            if (sink == null) {
+                throw new NullPointerException("sink");
+            }
+            this.sink = sink;
+            this.runs = null;
+        }
+
+        /**
+         * Creates an encoder that appends each run to {@code runs}.
+         *
+         * @param runs  the list to append to, not null
+         */
+        public Encoder(ByteIntPairList runs) {
+            if (runs == null) {
+                throw new NullPointerException("runs");
+            }
+            this.sink = null;
+            this.runs = runs;
+        }
+
+        /**
+         * Encodes a single byte.
+         *
+         * @param b  the byte to encode
+         */
+        public void write(byte b) {
+            append(b, 1);
+        }
+
+        /**
+         * Encodes a range of a {@code byte} array.
+         *
+         * @param bytes  the bytes to encode, not null
+         * @param offset  the index of the first byte to encode
+         * @param length  the number of bytes to encode
+         * @throws IndexOutOfBoundsException if the range is out of bounds
+         */
+        public void write(byte[] bytes, int offset, int length) {
+            if (offset < 0 || length < 0 || offset > bytes.length - length) {
+                throw new IndexOutOfBoundsException("offset " + offset + ", length " + length
+                        + ", array length " + bytes.length);
+            }
+            int i = offset;
+            int end = offset + length;
+            while (i < end) {
+                byte b = bytes[i];
+                int start = i;
+                while (++i < end && bytes[i] == b) {}
+                append(b, i - start);
+            }
+        }
+
+        /**
+         * Encodes the remaining bytes of a buffer, advancing its position to its limit.
+         *
+         * @param bytes  the bytes to encode, not null
+         */
+        public void write(ByteBuffer bytes) {
+            int pos = bytes.position();
+            int end = bytes.limit();
+            if (bytes.hasArray()) {
+                write(bytes.array(), bytes.arrayOffset() + pos, end - pos);
+            } else {
+                int i = pos;
+                while (i < end) {
+                    byte b = bytes.get(i);
+                    int start = i;
+                    while (++i < end && bytes.get(i) == b) {}
+                    append(b, i - start);
+                }
+            }
+            bytes.position(end);
+        }
+
+        /**
+         * Emits the current run, if any. Writing may continue afterward; a run that continues with
+         * the same symbol is then emitted separately.
+         */
+        public void flush() {
+            if (count > 0) {
+                emit(symbol, count);
+                count = 0;
+            }
+        }
+
+        private void append(byte b, int length) {
+            if (count > 0) {
+                if (b != symbol) {
+                    emit(symbol, count);
+                } else if (length <= Integer.MAX_VALUE - count) {
+                    count += length;
+                    return;
+                } else {
+                    length -= Integer.MAX_VALUE - count;
+                    emit(b, Integer.MAX_VALUE);
+                }
+            }
+            symbol = b;
+            count = length;
+        }
+
+        private void emit(byte b, int n) {
+            if (runs != null) {
+                runs.add(b, n);
+            } else {
+                sink.accept(b, n);
+            }
+        }
+    }
+}
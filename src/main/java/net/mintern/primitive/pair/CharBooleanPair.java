@@ -40,6 +40,45 @@ public abstract class CharBooleanPair implements PrimitivePair<Character, Boolea
         return ImmutableCharBooleanPair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static int compare(char left1, boolean right1, char left2, boolean right2) {
+        int cmp = Character.compare(left1, left2);
+        return cmp != 0 ? cmp : Boolean.compare(right1, right2);
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(char left1, boolean right1, char left2, boolean right2) {
+        return left1 == left2 && right1 == right2;
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(char left, boolean right) {
+        return left ^ (right ? 1231 : 1237);
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -62,8 +101,7 @@ public abstract class CharBooleanPair implements PrimitivePair<Character, Boolea
      */
     @Override
     public int compareTo(CharBooleanPair other) {
-        int cmp = Character.compare(getLeft(), other.getLeft());
-        return cmp != 0 ? cmp : Boolean.compare(getRight(), other.getRight());
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
@@ -79,7 +117,7 @@ public abstract class CharBooleanPair implements PrimitivePair<Character, Boolea
         }
         if (obj instanceof CharBooleanPair) {
             CharBooleanPair o = (CharBooleanPair) obj;
-            return getLeft() == o.getLeft() && getRight() == o.getRight();
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -88,12 +126,12 @@ public abstract class CharBooleanPair implements PrimitivePair<Character, Boolea
      * Returns a hash code that follows the definition in {@link java.util.Map.Entry#hashCode()}.
      *
      * @return the hash code
-     * @see Character#hashCode(char)
-     * @see Boolean#hashCode(boolean)
+     * @see Character#hashCode()
+     * @see Boolean#hashCode()
      */
     @Override
     public int hashCode() {
-        return Character.hashCode(getLeft()) ^ Boolean.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
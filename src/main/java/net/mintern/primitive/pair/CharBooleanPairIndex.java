@@ -0,0 +1,320 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * An immutable index of {@code (char, boolean)} pairs, sorted as by
+ * {@link CharBooleanPair#compareTo}, that supports lookups by left key with primitive
+ * arguments only.
+ * <p>
+ * Lookups return indices into the sorted pairs, whose elements can then be read with
+ * {@link #getLeft(int)} and {@link #getRight(int)} or copied into a reused
+ * {@link MutableCharBooleanPair}. To visit every pair whose left key lies in {@code [lo, hi]}:
+ *
+ * <pre>
+ * for (int i = index.rangeStart(lo), end = index.rangeEnd(hi); i &lt; end; i++) {
+ *     use(index.getLeft(i), index.getRight(i));
+ * }
+ * </pre>
+ *
+ * An index may optionally also store its keys in Eytzinger (breadth-first) order. Searching that
+ * layout touches memory in a predictable pattern that stays cache-friendly for large indices, at a
+ * cost of an extra {@code char} and {@code int} per pair.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public final class CharBooleanPairIndex {
+
+    /**
+     * Creates an index of the given pairs. The list is copied and left unchanged.
+     *
+     * @param pairs  the pairs to index, not null
+     * @return the index, not null
+     */
+    public static CharBooleanPairIndex of(CharBooleanPairList pairs) {
+        return of(pairs, false);
+    }
+
+    /**
+     * Creates an index of the given pairs, optionally with an Eytzinger layout for searching. The
+     * list is copied and left unchanged.
+     *
+     * @param pairs  the pairs to index, not null
+     * @param eytzinger  whether to also store the keys in Eytzinger order
+     * @return the index, not null
+     */
+    public static CharBooleanPairIndex of(CharBooleanPairList pairs, boolean eytzinger) {
+        char[] lefts = Arrays.copyOf(pairs.lefts, pairs.size);
+        boolean[] rights = Arrays.copyOf(pairs.rights, pairs.size);
+        PairSorts.sort(lefts, rights, 0, lefts.length);
+        return new CharBooleanPairIndex(lefts, rights, eytzinger);
+    }
+
+    private final char[] lefts;
+    private final boolean[] rights;
+    /** The keys in Eytzinger order, 1-based; null if the layout is not used. */
+    private final char[] eytzinger;
+    /** The sorted index of each key in {@link #eytzinger}. */
+    private final int[] ranks;
+
+    private CharBooleanPairIndex(char[] lefts, boolean[] rights, boolean eytzinger) {
+        this.lefts = lefts;
+        this.rights = rights;
+        if (eytzinger) {
+            this.eytzinger = new char[lefts.length + 1];
+            this.ranks = new int[lefts.length + 1];
+            layOut(0, 1);
+        } else {
+            this.eytzinger = null;
+            this.ranks = null;
+        }
+    }
+
+    /**
+     * Fills the subtree rooted at Eytzinger position {@code k} with sorted keys starting at index
+     * {@code i}, returning the next unused sorted index. The recursion depth is log2(n).
+     */
+    private int layOut(int i, int k) {
+        if (k < eytzinger.length) {
+            i = layOut(i, 2 * k);
+            eytzinger[k] = lefts[i];
+            ranks[k] = i;
+            i = layOut(i + 1, 2 * k + 1);
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of pairs in the index.
+     *
+     * @return the number of pairs
+     */
+    public int size() {
+        return lefts.length;
+    }
+
+    /**
+     * Gets the left element of the pair at the given sorted index.
+     *
+     * @param index  the index of the pair
+     * @return the left element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public char getLeft(int index) {
+        return lefts[index];
+    }
+
+    /**
+     * Gets the right element of the pair at the given sorted index.
+     *
+     * @param index  the index of the pair
+     * @return the right element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean getRight(int index) {
+        return rights[index];
+    }
+
+    /**
+     * Gets the pair at the given sorted index as a new immutable pair.
+     *
+     * @param index  the index of the pair
+     * @return the pair, not null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public ImmutableCharBooleanPair get(int index) {
+        return ImmutableCharBooleanPair.of(lefts[index], rights[index]);
+    }
+
+    /**
+     * Copies the pair at the given sorted index into {@code into}.
+     *
+     * @param index  the index of the pair
+     * @param into  the pair to overwrite, not null
+     * @return {@code into}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public MutableCharBooleanPair get(int index, MutableCharBooleanPair into) {
+        into.left = lefts[index];
+        into.right = rights[index];
+        return into;
+    }
+
+    /**
+     * Returns the index of the first pair whose left element is at least {@code key}.
+     *
+     * @param key  the key to search for
+     * @return the index of the first pair with a left element {@code >= key}, or {@link #size()}
+     *         if there is none
+     */
+    public int ceiling(char key) {
+        char[] e = eytzinger;
+        if (e != null) {
+            int k = 1;
+            while (k < e.length) {
+                k = 2 * k + (e[k] < key ? 1 : 0);
+            }
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k == 0 ? lefts.length : ranks[k];
+        }
+        int lo = 0;
+        int hi = lefts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lefts[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first pair whose left element is greater than {@code key}.
+     *
+     * @param key  the key to search for
+     * @return the index of the first pair with a left element {@code > key}, or {@link #size()}
+     *         if there is none
+     */
+    public int higher(char key) {
+        char[] e = eytzinger;
+        if (e != null) {
+            int k = 1;
+            while (k < e.length) {
+                k = 2 * k + (e[k] <= key ? 1 : 0);
+            }
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            return k == 0 ? lefts.length : ranks[k];
+        }
+        int lo = 0;
+        int hi = lefts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lefts[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the last pair whose left element is at most {@code key}.
+     *
+     * @param key  the key to search for
+     * @return the index of the last pair with a left element {@code <= key}, or -1 if there is none
+     */
+    public int floor(char key) {
+        return higher(key) - 1;
+    }
+
+    /**
+     * Returns the index of the last pair whose left element is less than {@code key}.
+     *
+     * @param key  the key to search for
+     * @return the index of the last pair with a left element {@code < key}, or -1 if there is none
+     */
+    public int lower(char key) {
+        return ceiling(key) - 1;
+    }
+
+    /**
+     * Copies the last pair whose left element is at most {@code key} into {@code into}.
+     *
+     * @param key  the key to search for
+     * @param into  the pair to overwrite if a pair is found, not null
+     * @return true if a pair was found and copied
+     */
+    public boolean floor(char key, MutableCharBooleanPair into) {
+        int i = floor(key);
+        if (i < 0) {
+            return false;
+        }
+        get(i, into);
+        return true;
+    }
+
+    /**
+     * Copies the first pair whose left element is at least {@code key} into {@code into}.
+     *
+     * @param key  the key to search for
+     * @param into  the pair to overwrite if a pair is found, not null
+     * @return true if a pair was found and copied
+     */
+    public boolean ceiling(char key, MutableCharBooleanPair into) {
+        int i = ceiling(key);
+        if (i == lefts.length) {
+            return false;
+        }
+        get(i, into);
+        return true;
+    }
+
+    /**
+     * Returns the index of the first pair in the range of left keys starting at {@code lo},
+     * inclusive. This is the same as {@link #ceiling(char)}.
+     *
+     * @param lo  the lowest key in the range
+     * @return the index of the first pair in the range
+     */
+    public int rangeStart(char lo) {
+        return ceiling(lo);
+    }
+
+    /**
+     * Returns the index after the last pair in the range of left keys ending at {@code hi},
+     * inclusive. This is the same as {@link #higher(char)}.
+     *
+     * @param hi  the highest key in the range
+     * @return the index after the last pair in the range
+     */
+    public int rangeEnd(char hi) {
+        return higher(hi);
+    }
+
+    /**
+     * Counts the pairs whose left elements lie in {@code [lo, hi]}.
+     *
+     * @param lo  the lowest key in the range
+     * @param hi  the highest key in the range
+     * @return the number of pairs in the range
+     */
+    public int count(char lo, char hi) {
+        return Math.max(0, higher(hi) - ceiling(lo));
+    }
+
+    /**
+     * Copies the sorted pairs into a new list.
+     *
+     * @return a list of the pairs in sorted order, not null
+     */
+    public CharBooleanPairList toList() {
+        return CharBooleanPairList.zip(lefts, rights);
+    }
+
+    /**
+     * Returns a String representation of this index using the format {@code [($left,$right), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Counts the occurrences of each {@code char} in text. Since there are only 65,536 distinct
+ * {@code char}s, the counts are kept in an array indexed by {@code char} rather than in a map, so
+ * counting a character is a single array increment.
+ * <p>
+ * A table starts with room for the 128 ASCII characters only, and grows to cover every
+ * {@code char} the first time it counts one outside that range, so tables of ASCII text stay small
+ * and export quickly. Counts are accumulated in an {@code int[]}, which is folded into a
+ * {@code long[]} of totals before it could overflow, so counts are exact up to
+ * {@link Long#MAX_VALUE}.
+ * <p>
+ * The counts are exported as a {@link CharIntPairList} or {@link CharLongPairList} of
+ * {@code (char, count)} pairs in ascending {@code char} order, omitting characters that were never
+ * counted.
+ * <p>
+ * Not #ThreadSafe#. Tables filled by separate threads can be combined with
+ * {@link #merge(CharFrequencyTable)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class CharFrequencyTable {
+
+    private static final int ASCII = 128;
+    private static final int ALL = 1 << 16;
+    /** The number of characters copied out of a {@code String} at a time. */
+    private static final int CHUNK = 1024;
+
+    /** The counts since the last {@link #fold()}, indexed by {@code char}. */
+    private int[] counts = new int[ASCII];
+    /** The sum of {@link #counts}. */
+    private int pending;
+    /** The counts as of the last {@link #fold()}, or null if there has been none. */
+    private long[] totals;
+    private long total;
+    /** A buffer for copying characters out of {@code String}s, or null until one is needed. */
+    private char[] scratch;
+
+    /**
+     * Makes room for every {@code char}.
+     */
+    private void widen() {
+        counts = Arrays.copyOf(counts, ALL);
+        if (totals != null) {
+            totals = Arrays.copyOf(totals, ALL);
+        }
+    }
+
+    /**
+     * Makes sure that {@code n} more characters can be counted without overflowing an
+     * {@code int}.
+     */
+    private void reserve(long n) {
+        if (pending + n > Integer.MAX_VALUE) {
+            fold();
+        }
+    }
+
+    /**
+     * Adds {@link #counts} into {@link #totals} and clears them.
+     */
+    private void fold() {
+        if (pending == 0) {
+            return;
+        }
+        int[] c = counts;
+        long[] t = totals;
+        if (t == null || t.length < c.length) {
+            totals = t = t == null ? new long[c.length] : Arrays.copyOf(t, c.length);
+        }
+        for (int i = 0; i < c.length; i++) {
+            t[i] += c[i];
+        }
+        Arrays.fill(c, 0);
+        pending = 0;
+    }
+
+    /**
+     * Counts one occurrence of a character.
+     *
+     * @param c  the character
+     */
+    public void add(char c) {
+        add(c, 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a character.
+     *
+     * @param c  the character
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char c, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        if (c >= counts.length) {
+            widen();
+        }
+        if (count > Integer.MAX_VALUE - pending) {
+            fold();
+            if (totals == null) {
+                totals = new long[counts.length];
+            }
+            totals[c] += count;
+        } else {
+            counts[c] += (int) count;
+            pending += (int) count;
+        }
+        total += count;
+    }
+
+    /**
+     * Counts the characters in a range of a {@code char} array.
+     *
+     * @param chars  the text, not null
+     * @param offset  the index of the first character
+     * @param length  the number of characters
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void accumulate(char[] chars, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > chars.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset " + offset + ", length " + length + ", array length " + chars.length);
+        }
+        reserve(length);
+        int[] c = counts;
+        int limit = c.length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            char ch = chars[i];
+            if (ch >= limit) {
+                widen();
+                c = counts;
+                limit = ALL;
+            }
+            c[ch]++;
+        }
+        pending += length;
+        total += length;
+    }
+
+    /**
+     * Counts the characters of a {@code char} array.
+     *
+     * @param chars  the text, not null
+     */
+    public void accumulate(char[] chars) {
+        accumulate(chars, 0, chars.length);
+    }
+
+    /**
+     * Counts the characters of a character sequence.
+     *
+     * @param text  the text, not null
+     */
+    public void accumulate(CharSequence text) {
+        accumulate(text, 0, text.length());
+    }
+
+    /**
+     * Counts the characters of a range of a character sequence.
+     *
+     * @param text  the text, not null
+     * @param start  the index of the first character
+     * @param end  the index after the last character
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void accumulate(CharSequence text, int start, int end) {
+        if (start < 0 || start > end || end > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    "start " + start + ", end " + end + ", length " + text.length());
+        }
+        if (text instanceof String) {
+            // Copying chunks out of a String is much faster than calling charAt for each char.
+            String s = (String) text;
+            char[] buf = scratch;
+            if (buf == null) {
+                scratch = buf = new char[CHUNK];
+            }
+            for (int i = start; i < end; i += buf.length) {
+                int n = Math.min(buf.length, end - i);
+                s.getChars(i, i + n, buf, 0);
+                accumulate(buf, 0, n);
+            }
+            return;
+        }
+        if (text instanceof CharBuffer) {
+            CharBuffer b = (CharBuffer) text;
+            if (b.hasArray()) {
+                accumulate(b.array(), b.arrayOffset() + b.position() + start, end - start);
+                return;
+            }
+        }
+        int length = end - start;
+        reserve(length);
+        int[] c = counts;
+        int limit = c.length;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch >= limit) {
+                widen();
+                c = counts;
+                limit = ALL;
+            }
+            c[ch]++;
+        }
+        pending += length;
+        total += length;
+    }
+
+    /**
+     * Counts the remaining characters of a buffer, advancing its position to its limit.
+     *
+     * @param chars  the text, not null
+     */
+    public void accumulate(CharBuffer chars) {
+        accumulate((CharSequence) chars);
+        chars.position(chars.limit());
+    }
+
+    /**
+     * Adds all of the counts of another table to this one.
+     *
+     * @param other  the table to add, not null
+     */
+    public void merge(CharFrequencyTable other) {
+        if (other.counts.length > counts.length) {
+            widen();
+        }
+        fold();
+        if (totals == null) {
+            totals = new long[counts.length];
+        }
+        long[] t = totals;
+        int[] oc = other.counts;
+        long[] ot = other.totals;
+        for (int i = 0; i < oc.length; i++) {
+            t[i] += oc[i];
+        }
+        if (ot != null) {
+            for (int i = 0; i < ot.length; i++) {
+                t[i] += ot[i];
+            }
+        }
+        total += other.total;
+    }
+
+    /**
+     * Resets every count to zero.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        totals = null;
+        pending = 0;
+        total = 0;
+    }
+
+    private long count(int c) {
+        long[] t = totals;
+        return counts[c] + (t == null ? 0 : t[c]);
+    }
+
+    /**
+     * Gets the number of times a character has been counted.
+     *
+     * @param c  the character
+     * @return the count of {@code c}
+     */
+    public long get(char c) {
+        return c < counts.length ? count(c) : 0;
+    }
+
+    /**
+     * Gets the sum of all counts.
+     *
+     * @return the total number of characters counted
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the number of distinct characters counted.
+     *
+     * @return the number of characters with a count greater than zero
+     */
+    public int distinctCount() {
+        int n = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (count(i) != 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns the {@code (char, count)} pairs of every character counted, in ascending
+     * {@code char} order.
+     *
+     * @return a new list of the counts, not null
+     */
+    public CharLongPairList toCharLongPairList() {
+        CharLongPairList list = new CharLongPairList(distinctCount());
+        for (int i = 0; i < counts.length; i++) {
+            long count = count(i);
+            if (count != 0) {
+                list.add((char) i, count);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns the {@code (char, count)} pairs of every character counted, in ascending
+     * {@code char} order.
+     *
+     * @return a new list of the counts, not null
+     * @throws IllegalStateException if a count is greater than {@link Integer#MAX_VALUE}
+     */
+    public CharIntPairList toCharIntPairList() {
+        CharIntPairList list = new CharIntPairList(distinctCount());
+        for (int i = 0; i < counts.length; i++) {
+            long count = count(i);
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalStateException(
+                        "count of char " + i + " too large for an int: " + count);
+            }
+            if (count != 0) {
+                list.add((char) i, (int) count);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a String representation of the counts in ascending {@code char} order, using the
+     * format {@code [($char,$count), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return toCharLongPairList().toString();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * A bounded interner of {@link ImmutableCharIntPair}s. Obtain one with
+ * {@link PairInterner#forCharIntPair(int)}.
+ * <p>
+ * Not #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ * @see PairInterner
+ */
+public final class CharIntPairInterner extends PairInterner {
+
+    private final char[] lefts;
+    private final int[] rights;
+    private final ImmutableCharIntPair[] pairs;
+
+    CharIntPairInterner(int capacity) {
+        super(capacity);
+        lefts = new char[stamps.length];
+        rights = new int[stamps.length];
+        pairs = new ImmutableCharIntPair[stamps.length];
+    }
+
+    /**
+     * Returns a canonical pair equal to {@code (left, right)}, allocating and caching a new one
+     * only if no equal pair is cached.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return a pair equal to {@code (left, right)}, not null
+     */
+    public ImmutableCharIntPair intern(char left, int right) {
+        int start = setStart(PairHash.hash((long) left << 32 | right & 0xFFFFFFFFL));
+        for (int i = start; i < start + WAYS; i++) {
+            if (lefts[i] == left && rights[i] == right && pairs[i] != null) {
+                hit(i);
+                return pairs[i];
+            }
+        }
+        return store(miss(start), ImmutableCharIntPair.of(left, right));
+    }
+
+    /**
+     * Returns a canonical pair equal to {@code pair}. If no equal pair is cached and {@code pair}
+     * is immutable, {@code pair} itself is cached and returned.
+     *
+     * @param pair  the pair to intern, not null
+     * @return a pair equal to {@code pair}, not null
+     */
+    public ImmutableCharIntPair intern(CharIntPair pair) {
+        char left = pair.getLeft();
+        int right = pair.getRight();
+        int start = setStart(PairHash.hash((long) left << 32 | right & 0xFFFFFFFFL));
+        for (int i = start; i < start + WAYS; i++) {
+            if (lefts[i] == left && rights[i] == right && pairs[i] != null) {
+                hit(i);
+                return pairs[i];
+            }
+        }
+        ImmutableCharIntPair canonical = pair instanceof ImmutableCharIntPair
+                ? (ImmutableCharIntPair) pair
+                : ImmutableCharIntPair.of(left, right);
+        return store(miss(start), canonical);
+    }
+
+    private ImmutableCharIntPair store(int slot, ImmutableCharIntPair pair) {
+        lefts[slot] = pair.left;
+        rights[slot] = pair.right;
+        pairs[slot] = pair;
+        return pair;
+    }
+
+    @Override
+    void clearPairs() {
+        Arrays.fill(pairs, null);
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * A stream of {@code (char, int)} pairs that is read one pair at a time, copying each
+ * into a reused {@link MutableCharIntPair}, so that pairs can be streamed without allocating
+ * pair objects.
+ *
+ * @author Brandon Mintern
+ */
+public interface CharIntPairSource {
+
+    /**
+     * Copies the next pair of the stream into {@code into}.
+     *
+     * @param into  the pair to overwrite if there is another pair, not null
+     * @return true if there was another pair, or false if the stream is exhausted
+     */
+    boolean next(MutableCharIntPair into);
+}
@@ -0,0 +1,415 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * Aggregates the {@code long} values of {@code (char, long)} pairs by their {@code char} keys.
+ * For each key, the count, sum, minimum, maximum and mean of its values are kept.
+ * <p>
+ * With only 65,536 possible keys, the aggregates are kept in arrays indexed directly by key, so
+ * adding a pair takes no hashing or probing, and a group-by takes about 2 MB no matter how many
+ * keys it holds. Sums wrap around on overflow, as {@code long} arithmetic does.
+ * <p>
+ * Pairs are added one at a time with {@link #add(char, long)}, which also makes a group-by a
+ * {@link CharLongConsumer}, or in bulk from a {@link CharLongPairList}.
+ * {@link #of(CharLongPairList, int)} aggregates a large list on several threads.
+ * <p>
+ * Results are read per key, or exported in ascending key order. The sums, minimums and maximums
+ * are exported as pair columns such as {@link #sums()}, whose right elements are the aggregates of
+ * the keys in their left elements. Counts are {@code long}s and means are {@code double}s whatever
+ * the value type, so {@link #counts()} and {@link #means()} return arrays in the order of
+ * {@link #keys()} instead, as they do in {@link IntFloatGroupBy}.
+ * <p>
+ * Not #ThreadSafe#. Group-bys filled by separate threads can be combined with
+ * {@link #merge(CharLongGroupBy)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class CharLongGroupBy implements CharLongConsumer {
+
+    private static final int KEYS = 1 << 16;
+    /** The fewest pairs per thread for which {@link #of(CharLongPairList, int)} uses threads. */
+    private static final int PARALLEL_SLICE = 1 << 16;
+
+    /**
+     * Aggregates the pairs of a list.
+     *
+     * @param pairs  the {@code (key, value)} pairs, not null
+     * @return a new group-by of the pairs, not null
+     */
+    public static CharLongGroupBy of(CharLongPairList pairs) {
+        CharLongGroupBy groups = new CharLongGroupBy();
+        groups.addAll(pairs);
+        return groups;
+    }
+
+    /**
+     * Aggregates the pairs of a list on up to {@code parallelism} threads. Each thread aggregates
+     * a slice of the list into a group-by of its own, and the results are merged; since keys index
+     * the aggregates directly, merging costs the same no matter how the keys are distributed. This
+     * is worthwhile for lists of millions of pairs; smaller lists are aggregated on the calling
+     * thread.
+     *
+     * @param pairs  the {@code (key, value)} pairs, not null
+     * @param parallelism  the maximum number of threads to use, positive
+     * @return a new group-by of the pairs, not null
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public static CharLongGroupBy of(final CharLongPairList pairs, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism not positive: " + parallelism);
+        }
+        final int n = pairs.size;
+        final int p = Math.min(parallelism, n / PARALLEL_SLICE);
+        if (p <= 1) {
+            return of(pairs);
+        }
+        final CharLongGroupBy[] results = new CharLongGroupBy[p];
+        final Throwable[] failures = new Throwable[p];
+        Thread[] threads = new Thread[p];
+        for (int t = 0; t < p; t++) {
+            final int id = t;
+            threads[t] = new Thread("CharLongGroupBy-" + id) {
+                @Override
+                public void run() {
+                    try {
+                        CharLongGroupBy groups = new CharLongGroupBy();
+                        groups.addAll(pairs.lefts, pairs.rights,
+                                (int) ((long) n * id / p), (int) ((long) n * (id + 1) / p));
+                        results[id] = groups;
+                    } catch (Throwable e) {
+                        failures[id] = e;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        for (Throwable e : failures) {
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e != null) {
+                throw (Error) e;
+            }
+        }
+        for (int t = 1; t < p; t++) {
+            results[0].merge(results[t]);
+        }
+        return results[0];
+    }
+
+    /** The aggregates of each key; a key has a group if its count is not 0. */
+    private final long[] counts = new long[KEYS];
+    private final long[] sums = new long[KEYS];
+    private final long[] mins = new long[KEYS];
+    private final long[] maxes = new long[KEYS];
+    private int size;
+
+    /**
+     * Creates an empty group-by.
+     */
+    public CharLongGroupBy() {}
+
+    /**
+     * Adds a value to the group of its key.
+     *
+     * @param key  the key
+     * @param value  the value
+     */
+    public void add(char key, long value) {
+        long count = counts[key];
+        if (count == 0) {
+            size++;
+            sums[key] = value;
+            mins[key] = value;
+            maxes[key] = value;
+        } else {
+            sums[key] += value;
+            mins[key] = Math.min(mins[key], value);
+            maxes[key] = Math.max(maxes[key], value);
+        }
+        counts[key] = count + 1;
+    }
+
+    /**
+     * Adds a value to the group of its key. This is the same as {@link #add(char, long)}.
+     *
+     * @param key  the key
+     * @param value  the value
+     */
+    @Override
+    public void accept(char key, long value) {
+        add(key, value);
+    }
+
+    /**
+     * Adds a {@code (key, value)} pair.
+     *
+     * @param pair  the pair, not null
+     */
+    public void add(CharLongPair pair) {
+        add(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Adds all the {@code (key, value)} pairs of a list.
+     *
+     * @param pairs  the pairs, not null
+     */
+    public void addAll(CharLongPairList pairs) {
+        addAll(pairs.lefts, pairs.rights, 0, pairs.size);
+    }
+
+    private void addAll(char[] ks, long[] vs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(ks[i], vs[i]);
+        }
+    }
+
+    /**
+     * Combines another group-by's aggregates with this one's, so that this group-by aggregates
+     * the pairs of both.
+     *
+     * @param other  the group-by to combine with this one, not null
+     */
+    public void merge(CharLongGroupBy other) {
+        for (int k = 0; k < KEYS; k++) {
+            long count = other.counts[k];
+            if (count == 0) {
+                continue;
+            }
+            if (counts[k] == 0) {
+                size++;
+                sums[k] = other.sums[k];
+                mins[k] = other.mins[k];
+                maxes[k] = other.maxes[k];
+            } else {
+                sums[k] += other.sums[k];
+                mins[k] = Math.min(mins[k], other.mins[k]);
+                maxes[k] = Math.max(maxes[k], other.maxes[k]);
+            }
+            counts[k] += count;
+        }
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if no pairs have been added.
+     *
+     * @return true if there are no groups
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns true if a value has been added for {@code key}.
+     *
+     * @param key  the key
+     * @return true if there is a group for {@code key}
+     */
+    public boolean containsKey(char key) {
+        return counts[key] != 0;
+    }
+
+    /**
+     * Returns the number of values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the count, or 0 if there is no group for {@code key}
+     */
+    public long count(char key) {
+        return counts[key];
+    }
+
+    /**
+     * Returns the sum of the values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the sum, or 0 if there is no group for {@code key}
+     */
+    public long sum(char key) {
+        return sums[key];
+    }
+
+    /**
+     * Returns the least value added for {@code key}.
+     *
+     * @param key  the key
+     * @return the minimum
+     * @throws IllegalArgumentException if there is no group for {@code key}
+     */
+    public long min(char key) {
+        checkKey(key);
+        return mins[key];
+    }
+
+    /**
+     * Returns the greatest value added for {@code key}.
+     *
+     * @param key  the key
+     * @return the maximum
+     * @throws IllegalArgumentException if there is no group for {@code key}
+     */
+    public long max(char key) {
+        checkKey(key);
+        return maxes[key];
+    }
+
+    /**
+     * Returns the mean of the values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the mean, or {@code NaN} if there is no group for {@code key}
+     */
+    public double mean(char key) {
+        long count = counts[key];
+        return count == 0 ? Double.NaN : (double) sums[key] / count;
+    }
+
+    private void checkKey(char key) {
+        if (counts[key] == 0) {
+            throw new IllegalArgumentException("no values for key: " + key);
+        }
+    }
+
+    /**
+     * Returns the distinct keys in ascending order. The other columns list their aggregates in
+     * the same order.
+     *
+     * @return a new array of the keys, not null
+     */
+    public char[] keys() {
+        char[] result = new char[size];
+        int n = 0;
+        for (int k = 0; k < KEYS; k++) {
+            if (counts[k] != 0) {
+                result[n++] = (char) k;
+            }
+        }
+        return result;
+    }
+
+    private CharLongPairList column(long[] aggregates) {
+        CharLongPairList result = new CharLongPairList(size);
+        for (int k = 0; k < KEYS; k++) {
+            if (counts[k] != 0) {
+                result.add((char) k, aggregates[k]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of values added for each key, in ascending key order.
+     *
+     * @return a new array of the counts, in the order of {@link #keys()}, not null
+     */
+    public long[] counts() {
+        long[] result = new long[size];
+        int n = 0;
+        for (int k = 0; k < KEYS; k++) {
+            if (counts[k] != 0) {
+                result[n++] = counts[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code (key, sum)} pairs in ascending key order.
+     *
+     * @return a new list of the sums, not null
+     */
+    public CharLongPairList sums() {
+        return column(sums);
+    }
+
+    /**
+     * Returns {@code (key, min)} pairs in ascending key order.
+     *
+     * @return a new list of the minimums, not null
+     */
+    public CharLongPairList mins() {
+        return column(mins);
+    }
+
+    /**
+     * Returns {@code (key, max)} pairs in ascending key order.
+     *
+     * @return a new list of the maximums, not null
+     */
+    public CharLongPairList maxes() {
+        return column(maxes);
+    }
+
+    /**
+     * Returns the mean of each key's values, in ascending key order.
+     *
+     * @return a new array of the means, in the order of {@link #keys()}, not null
+     */
+    public double[] means() {
+        double[] result = new double[size];
+        int n = 0;
+        for (int k = 0; k < KEYS; k++) {
+            if (counts[k] != 0) {
+                result[n++] = (double) sums[k] / counts[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all groups.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(sums, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns a String representation of the sums in ascending key order, using the format
+     * {@code [($key,$sum), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return sums().toString();
+    }
+}
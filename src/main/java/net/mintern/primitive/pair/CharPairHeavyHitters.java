@@ -0,0 +1,432 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tracks the most frequent {@link CharPair}s of an unbounded stream, such as the character bigrams
+ * of a text, in a fixed amount of memory, using the Space-Saving algorithm.
+ * <p>
+ * The tracker monitors at most {@link #capacity()} pairs. When a pair that is not monitored
+ * arrives and the tracker is full, it replaces the monitored pair with the lowest count, inheriting
+ * that count as its possible overestimate. As a result, every pair that occurs more than
+ * {@code totalCount() / capacity()} times is guaranteed to be monitored, and the count of each
+ * monitored pair exceeds its true count by at most its {@linkplain #error(char, char) error}.
+ * <p>
+ * For {@code byte} pairs, whose 65,536 possible values can be counted exactly, use
+ * {@link BytePairHistogram} instead.
+ * <p>
+ * Not #ThreadSafe#. Trackers filled by separate threads can be combined with
+ * {@link #merge(CharPairHeavyHitters)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class CharPairHeavyHitters {
+
+    private final int capacity;
+    /** The pair in each slot, as {@code left << 16 | right}. */
+    private final int[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    /** A min-heap of slots, ordered by count. */
+    private final int[] heap;
+    /** The position of each slot in {@link #heap}. */
+    private final int[] heapIndex;
+    /** An open-addressing table from key to slot + 1, with 0 marking an empty entry. */
+    private final int[] table;
+    private int size;
+    private long total;
+
+    /**
+     * Creates a tracker that monitors up to {@code capacity} pairs.
+     *
+     * @param capacity  the maximum number of pairs to monitor, from 1 to 2<sup>28</sup>
+     * @throws IllegalArgumentException if {@code capacity} is out of range
+     */
+    public CharPairHeavyHitters(int capacity) {
+        if (capacity < 1 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        this.capacity = capacity;
+        keys = new int[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+        heap = new int[capacity];
+        heapIndex = new int[capacity];
+        table = new int[Integer.highestOneBit(capacity) << 2];
+    }
+
+    private static int key(char left, char right) {
+        return left << 16 | right;
+    }
+
+    private int home(int key) {
+        return (int) PairHash.hash(key & 0xFFFFFFFFL) & (table.length - 1);
+    }
+
+    /**
+     * Returns the slot of a key, or -1 if it is not monitored.
+     */
+    private int find(int key) {
+        int mask = table.length - 1;
+        for (int i = home(key); ; i = (i + 1) & mask) {
+            int entry = table[i];
+            if (entry == 0) {
+                return -1;
+            }
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insert(int slot) {
+        int mask = table.length - 1;
+        int i = home(keys[slot]);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    private void delete(int key) {
+        int mask = table.length - 1;
+        int gap = home(key);
+        while (keys[table[gap] - 1] != key) {
+            gap = (gap + 1) & mask;
+        }
+        // Shift later entries of the probe sequence back into the gap.
+        for (int i = (gap + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int h = home(keys[table[i] - 1]);
+            if (((i - h) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    /**
+     * Counts one occurrence of a pair.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, char right) {
+        add(left, right, 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a pair.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, char right, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        if (count > 0) {
+            offer(key(left, right), count, 0);
+        }
+    }
+
+    /**
+     * Counts the {@code length - 1} bigrams in a range of a {@code char} array: every pair of
+     * adjacent characters. Bigrams that span two calls are not counted.
+     *
+     * @param chars  the text, not null
+     * @param offset  the index of the first character
+     * @param length  the number of characters
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void accumulate(char[] chars, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > chars.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "offset " + offset + ", length " + length + ", array length " + chars.length);
+        }
+        for (int i = offset + 1, end = offset + length; i < end; i++) {
+            offer(key(chars[i - 1], chars[i]), 1, 0);
+        }
+    }
+
+    /**
+     * Counts the {@code length() - 1} bigrams of a character sequence: every pair of adjacent
+     * characters. Bigrams that span two calls are not counted.
+     *
+     * @param text  the text, not null
+     */
+    public void accumulate(CharSequence text) {
+        for (int i = 1, end = text.length(); i < end; i++) {
+            offer(key(text.charAt(i - 1), text.charAt(i)), 1, 0);
+        }
+    }
+
+    private void offer(int key, long count, long error) {
+        total += count;
+        int slot = find(key);
+        if (slot >= 0) {
+            counts[slot] += count;
+            errors[slot] += error;
+            siftDown(heapIndex[slot]);
+        } else if (size < capacity) {
+            slot = size++;
+            keys[slot] = key;
+            counts[slot] = count;
+            errors[slot] = error;
+            insert(slot);
+            heap[slot] = slot;
+            heapIndex[slot] = slot;
+            siftUp(slot);
+        } else {
+            slot = heap[0];
+            delete(keys[slot]);
+            keys[slot] = key;
+            errors[slot] = counts[slot] + error;
+            counts[slot] += count;
+            insert(slot);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int k) {
+        int slot = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            move(heap[parent], k);
+            k = parent;
+        }
+        move(slot, k);
+    }
+
+    private void siftDown(int k) {
+        int slot = heap[k];
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            move(heap[child], k);
+            k = child;
+        }
+        move(slot, k);
+    }
+
+    private void move(int slot, int k) {
+        heap[k] = slot;
+        heapIndex[slot] = k;
+    }
+
+    /**
+     * Returns the maximum number of pairs that this tracker monitors.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of pairs currently monitored.
+     *
+     * @return the number of monitored pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the sum of all counts added.
+     *
+     * @return the total count
+     */
+    public long totalCount() {
+        return total;
+    }
+
+    /**
+     * Estimates the number of times a pair has been counted. The estimate for a monitored pair is
+     * never less than its true count. A pair that is not monitored has a true count of at most the
+     * lowest monitored count, but this method returns 0 for it.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, or 0 if the pair is not monitored
+     */
+    public long estimate(char left, char right) {
+        int slot = find(key(left, right));
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    /**
+     * Returns the most that {@link #estimate(char, char)} may overestimate the count of a pair.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the maximum overestimate, or 0 if the pair is not monitored
+     */
+    public long error(char left, char right) {
+        int slot = find(key(left, right));
+        return slot < 0 ? 0 : errors[slot];
+    }
+
+    /**
+     * Returns the {@code n} monitored pairs with the highest estimated counts, highest first. Pairs
+     * with equal counts are ordered by {@link CharPair#compareTo}.
+     *
+     * @param n  the maximum number of pairs to return, not negative
+     * @return the most frequent pairs with their estimated counts, not null
+     * @throws IllegalArgumentException if {@code n} is negative
+     */
+    public List<ObjLongPair<ImmutableCharPair>> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("negative n: " + n);
+        }
+        int[] slots = rank(keys, counts, size);
+        n = Math.min(n, size);
+        List<ObjLongPair<ImmutableCharPair>> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int slot = slots[i];
+            int key = keys[slot];
+            result.add(ObjLongPair.of(
+                    ImmutableCharPair.of((char) (key >>> 16), (char) key), counts[slot]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indices {@code 0..size} ordered by descending count, breaking ties by ascending
+     * pair order.
+     */
+    private static int[] rank(int[] keys, long[] counts, int size) {
+        int[] slots = new int[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        rank(keys, counts, slots, new int[size], 0, size);
+        return slots;
+    }
+
+    private static void rank(int[] keys, long[] counts, int[] slots, int[] buf, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int s = slots[i];
+                int j = i - 1;
+                while (j >= from && before(keys, counts, s, slots[j])) {
+                    slots[j + 1] = slots[j];
+                    j--;
+                }
+                slots[j + 1] = s;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        rank(keys, counts, slots, buf, from, mid);
+        rank(keys, counts, slots, buf, mid, to);
+        System.arraycopy(slots, from, buf, from, mid - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            slots[k++] = before(keys, counts, slots[j], buf[i]) ? slots[j++] : buf[i++];
+        }
+        while (i < mid) {
+            slots[k++] = buf[i++];
+        }
+    }
+
+    /**
+     * Returns true if index {@code a} ranks ahead of index {@code b}.
+     */
+    private static boolean before(int[] keys, long[] counts, int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b];
+        }
+        // Keys hold two unsigned chars, so compare them unsigned to match CharPair order.
+        return (keys[a] ^ Integer.MIN_VALUE) < (keys[b] ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * Combines another tracker's counts with this one's, so that this tracker summarizes both
+     * streams. A pair monitored by only one tracker is assumed to have occurred as often as the
+     * other tracker's lowest count, if that tracker is full, and that amount is added to both its
+     * count and its error. The combined pairs with the highest counts are kept.
+     *
+     * @param other  the tracker to combine with this one, not null
+     */
+    public void merge(CharPairHeavyHitters other) {
+        long thisMin = size == capacity ? counts[heap[0]] : 0;
+        long otherMin = other.size == other.capacity ? other.counts[other.heap[0]] : 0;
+        int n = size + other.size;
+        int[] mergedKeys = new int[n];
+        long[] mergedCounts = new long[n];
+        long[] mergedErrors = new long[n];
+        int m = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int key = keys[slot];
+            int o = other.find(key);
+            mergedKeys[m] = key;
+            mergedCounts[m] = counts[slot] + (o < 0 ? otherMin : other.counts[o]);
+            mergedErrors[m++] = errors[slot] + (o < 0 ? otherMin : other.errors[o]);
+        }
+        for (int slot = 0; slot < other.size; slot++) {
+            int key = other.keys[slot];
+            if (find(key) < 0) {
+                mergedKeys[m] = key;
+                mergedCounts[m] = other.counts[slot] + thisMin;
+                mergedErrors[m++] = other.errors[slot] + thisMin;
+            }
+        }
+        long mergedTotal = total + other.total;
+        clear();
+        // Offer the combined pairs from the highest count down, so that the top ones are kept.
+        int[] slots = rank(mergedKeys, mergedCounts, m);
+        for (int i = 0; i < Math.min(m, capacity); i++) {
+            int s = slots[i];
+            offer(mergedKeys[s], mergedCounts[s], mergedErrors[s]);
+        }
+        total = mergedTotal;
+    }
+
+    /**
+     * Stops monitoring all pairs and resets the total count.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * Returns a String describing the tracker's size and total count.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "CharPairHeavyHitters[size=" + size + ", capacity=" + capacity + ", total=" + total
+                + "]";
+    }
+}
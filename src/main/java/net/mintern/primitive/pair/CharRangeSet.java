@@ -0,0 +1,424 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of {@code char} values, represented as a sorted list of disjoint inclusive
+ * {@code (lo, hi)} ranges. Ranges are given as {@link CharPair}s whose left element is the lowest
+ * character in the range and whose right element is the highest.
+ * <p>
+ * Overlapping and adjacent ranges are merged on construction, so two sets containing the same
+ * characters are always equal and expose the same ranges. Membership tests use a binary search
+ * over the ranges; sets with many ranges are additionally backed by a 65,536-bit bitmap, so that
+ * {@link #contains(char)} is a single array read.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public final class CharRangeSet {
+
+    /** The set containing no characters. */
+    public static final CharRangeSet EMPTY = new CharRangeSet(new char[0], new char[0]);
+
+    /** The set containing every {@code char} value. */
+    public static final CharRangeSet ALL =
+            new CharRangeSet(new char[] {Character.MIN_VALUE}, new char[] {Character.MAX_VALUE});
+
+    /**
+     * Sets with more ranges than this also build a bitmap; a binary search over this many ranges
+     * takes about as long as the cache miss that a bitmap lookup can incur.
+     */
+    private static final int BITMAP_THRESHOLD = 16;
+
+    /**
+     * Obtains a set consisting of a single range.
+     *
+     * @param lo  the lowest character in the range
+     * @param hi  the highest character in the range
+     * @return a set of the characters from {@code lo} to {@code hi}, inclusive
+     * @throws IllegalArgumentException if {@code lo > hi}
+     */
+    public static CharRangeSet range(char lo, char hi) {
+        checkRange(lo, hi);
+        return new CharRangeSet(new char[] {lo}, new char[] {hi});
+    }
+
+    /**
+     * Obtains a set consisting of the union of the given ranges.
+     *
+     * @param ranges  the {@code (lo, hi)} ranges, not null and not containing null
+     * @return a set of all characters in any of the ranges, not null
+     * @throws IllegalArgumentException if any range has {@code lo > hi}
+     */
+    public static CharRangeSet of(CharPair... ranges) {
+        return of(Arrays.asList(ranges));
+    }
+
+    /**
+     * Obtains a set consisting of the union of the given ranges.
+     *
+     * @param ranges  the {@code (lo, hi)} ranges, not null and not containing null
+     * @return a set of all characters in any of the ranges, not null
+     * @throws IllegalArgumentException if any range has {@code lo > hi}
+     */
+    public static CharRangeSet of(Iterable<? extends CharPair> ranges) {
+        long[] packed = new long[8];
+        int n = 0;
+        for (CharPair range: ranges) {
+            char lo = range.getLeft();
+            char hi = range.getRight();
+            checkRange(lo, hi);
+            if (n == packed.length) {
+                packed = Arrays.copyOf(packed, n * 2);
+            }
+            packed[n++] = (long) lo << 16 | hi;
+        }
+        return normalize(packed, n);
+    }
+
+    /**
+     * Obtains a set consisting of the union of the given ranges, stored in a {@link CharPairList}.
+     *
+     * @param ranges  the {@code (lo, hi)} ranges, not null
+     * @return a set of all characters in any of the ranges, not null
+     * @throws IllegalArgumentException if any range has {@code lo > hi}
+     */
+    public static CharRangeSet of(CharPairList ranges) {
+        int n = ranges.size();
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            char lo = ranges.lefts[i];
+            char hi = ranges.rights[i];
+            checkRange(lo, hi);
+            packed[i] = (long) lo << 16 | hi;
+        }
+        return normalize(packed, n);
+    }
+
+    /**
+     * Obtains a set of the given characters.
+     *
+     * @param chars  the characters, not null
+     * @return a set of the characters in {@code chars}, not null
+     */
+    public static CharRangeSet ofChars(CharSequence chars) {
+        int n = chars.length();
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            char c = chars.charAt(i);
+            packed[i] = (long) c << 16 | c;
+        }
+        return normalize(packed, n);
+    }
+
+    private static void checkRange(char lo, char hi) {
+        if (lo > hi) {
+            throw new IllegalArgumentException(
+                    "invalid range: lo 0x" + Integer.toHexString(lo) + " > hi 0x"
+                            + Integer.toHexString(hi));
+        }
+    }
+
+    /**
+     * Sorts ranges packed as {@code lo << 16 | hi} and merges those that overlap or touch.
+     */
+    private static CharRangeSet normalize(long[] packed, int n) {
+        if (n == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(packed, 0, n);
+        char[] los = new char[n];
+        char[] his = new char[n];
+        int count = 0;
+        int lo = (int) (packed[0] >>> 16);
+        int hi = (int) packed[0] & 0xFFFF;
+        for (int i = 1; i < n; i++) {
+            int nextLo = (int) (packed[i] >>> 16);
+            int nextHi = (int) packed[i] & 0xFFFF;
+            if (nextLo <= hi + 1) {
+                hi = Math.max(hi, nextHi);
+            } else {
+                los[count] = (char) lo;
+                his[count++] = (char) hi;
+                lo = nextLo;
+                hi = nextHi;
+            }
+        }
+        los[count] = (char) lo;
+        his[count++] = (char) hi;
+        return new CharRangeSet(Arrays.copyOf(los, count), Arrays.copyOf(his, count));
+    }
+
+    private final char[] los;
+    private final char[] his;
+    private final long[] bitmap;
+    private int hash;
+
+    /**
+     * Creates a set from ranges that are already sorted, disjoint, and non-adjacent.
+     */
+    private CharRangeSet(char[] los, char[] his) {
+        this.los = los;
+        this.his = his;
+        if (los.length > BITMAP_THRESHOLD) {
+            long[] bits = new long[1 << 10];
+            for (int i = 0; i < los.length; i++) {
+                setBits(bits, los[i], his[i]);
+            }
+            bitmap = bits;
+        } else {
+            bitmap = null;
+        }
+    }
+
+    private static void setBits(long[] bits, int lo, int hi) {
+        int first = lo >>> 6;
+        int last = hi >>> 6;
+        long firstMask = -1L << lo;
+        long lastMask = -1L >>> (63 - (hi & 63));
+        if (first == last) {
+            bits[first] |= firstMask & lastMask;
+        } else {
+            bits[first] |= firstMask;
+            Arrays.fill(bits, first + 1, last, -1L);
+            bits[last] |= lastMask;
+        }
+    }
+
+    /**
+     * Returns whether this set contains the given character.
+     *
+     * @param c  the character to test
+     * @return true if {@code c} is in one of the ranges
+     */
+    public boolean contains(char c) {
+        long[] bits = bitmap;
+        if (bits != null) {
+            return (bits[c >>> 6] & 1L << c) != 0;
+        }
+        int i = floorRange(c);
+        return i >= 0 && c <= his[i];
+    }
+
+    /**
+     * Returns the index of the last range whose low end is at most {@code c}, or -1.
+     */
+    private int floorRange(char c) {
+        int lo = 0;
+        int hi = los.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (los[mid] <= c) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Returns whether this set contains no characters.
+     *
+     * @return true if this set is empty
+     */
+    public boolean isEmpty() {
+        return los.length == 0;
+    }
+
+    /**
+     * Returns the number of disjoint ranges in this set.
+     *
+     * @return the number of ranges
+     */
+    public int rangeCount() {
+        return los.length;
+    }
+
+    /**
+     * Returns the number of characters in this set.
+     *
+     * @return the number of characters, between 0 and 65,536
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < los.length; i++) {
+            count += his[i] - los[i] + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the set of characters that are in this set, the other set, or both.
+     *
+     * @param other  the other set, not null
+     * @return the union of the two sets, not null
+     */
+    public CharRangeSet union(CharRangeSet other) {
+        if (other.los.length == 0) {
+            return this;
+        }
+        if (los.length == 0) {
+            return other;
+        }
+        int n = los.length + other.los.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < los.length; i++) {
+            packed[i] = (long) los[i] << 16 | his[i];
+        }
+        for (int i = 0, j = los.length; j < n; i++, j++) {
+            packed[j] = (long) other.los[i] << 16 | other.his[i];
+        }
+        return normalize(packed, n);
+    }
+
+    /**
+     * Returns the set of characters that are in both this set and the other set.
+     *
+     * @param other  the other set, not null
+     * @return the intersection of the two sets, not null
+     */
+    public CharRangeSet intersection(CharRangeSet other) {
+        char[] aLo = los;
+        char[] aHi = his;
+        char[] bLo = other.los;
+        char[] bHi = other.his;
+        char[] outLo = new char[aLo.length + bLo.length];
+        char[] outHi = new char[outLo.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aLo.length && j < bLo.length) {
+            char lo = aLo[i] > bLo[j] ? aLo[i] : bLo[j];
+            char hi = aHi[i] < bHi[j] ? aHi[i] : bHi[j];
+            if (lo <= hi) {
+                outLo[count] = lo;
+                outHi[count++] = hi;
+            }
+            if (aHi[i] < bHi[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new CharRangeSet(Arrays.copyOf(outLo, count), Arrays.copyOf(outHi, count));
+    }
+
+    /**
+     * Returns the set of all {@code char} values that are not in this set.
+     *
+     * @return the complement of this set, not null
+     */
+    public CharRangeSet complement() {
+        int n = los.length;
+        if (n == 0) {
+            return ALL;
+        }
+        char[] outLo = new char[n + 1];
+        char[] outHi = new char[n + 1];
+        int count = 0;
+        if (los[0] > Character.MIN_VALUE) {
+            outLo[count] = Character.MIN_VALUE;
+            outHi[count++] = (char) (los[0] - 1);
+        }
+        for (int i = 1; i < n; i++) {
+            outLo[count] = (char) (his[i - 1] + 1);
+            outHi[count++] = (char) (los[i] - 1);
+        }
+        if (his[n - 1] < Character.MAX_VALUE) {
+            outLo[count] = (char) (his[n - 1] + 1);
+            outHi[count++] = Character.MAX_VALUE;
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return new CharRangeSet(Arrays.copyOf(outLo, count), Arrays.copyOf(outHi, count));
+    }
+
+    /**
+     * Returns the ranges of this set in ascending order. The ranges are disjoint and non-adjacent.
+     *
+     * @return a new array of {@code (lo, hi)} ranges, not null
+     */
+    public CharPair[] toArray() {
+        CharPair[] ranges = new CharPair[los.length];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = ImmutableCharPair.of(los[i], his[i]);
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the ranges of this set in ascending order, without allocating a pair per range.
+     *
+     * @return a new list of {@code (lo, hi)} ranges, not null
+     */
+    public CharPairList toList() {
+        CharPairList ranges = new CharPairList(los.length);
+        for (int i = 0; i < los.length; i++) {
+            ranges.add(los[i], his[i]);
+        }
+        return ranges;
+    }
+
+    /**
+     * Compares this set to another based on the characters they contain.
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if both sets contain the same characters
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CharRangeSet) {
+            CharRangeSet o = (CharRangeSet) obj;
+            return Arrays.equals(los, o.los) && Arrays.equals(his, o.his);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * Arrays.hashCode(los) + Arrays.hashCode(his);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Returns a String representation of this set using the format {@code [($lo,$hi), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < los.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(los[i]).append(',').append(his[i]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+}
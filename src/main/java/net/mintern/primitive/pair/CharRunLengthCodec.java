@@ -0,0 +1,281 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * Run-length encodes {@code char} sequences as {@code (symbol, count)} runs and decodes them again,
+ * without allocating a {@link CharIntPair} per run.
+ * <p>
+ * Runs are emitted to a {@link CharIntConsumer} or collected in a {@link CharIntPairList}. Every
+ * emitted run has a positive count, and adjacent runs never share a symbol unless the first run
+ * has reached {@link Integer#MAX_VALUE}. Input that arrives in chunks can be encoded with an
+ * {@link Encoder}, which carries the current run across chunk boundaries.
+ *
+ * @author Brandon Mintern
+ */
+public final class CharRunLengthCodec {
+
+    private CharRunLengthCodec() {}
+
+    /**
+     * Encodes a character sequence into a new list of runs.
+     *
+     * @param chars  the characters to encode, not null
+     * @return the runs, not null
+     */
+    public static CharIntPairList encode(CharSequence chars) {
+        CharIntPairList runs = new CharIntPairList();
+        Encoder encoder = new Encoder(runs);
+        encoder.write(chars);
+        encoder.flush();
+        return runs;
+    }
+
+    /**
+     * Encodes a range of a {@code char} array, emitting each run to {@code sink}.
+     *
+     * @param chars  the characters to encode, not null
+     * @param offset  the index of the first character to encode
+     * @param length  the number of characters to encode
+     * @param sink  receives each {@code (symbol, count)} run, not null
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static void encode(char[] chars, int offset, int length, CharIntConsumer sink) {
+        Encoder encoder = new Encoder(sink);
+        encoder.write(chars, offset, length);
+        encoder.flush();
+    }
+
+    /**
+     * Returns the number of characters that the given runs decode to.
+     *
+     * @param runs  the runs, not null
+     * @return the sum of the run counts
+     * @throws IllegalArgumentException if any run has a negative count
+     */
+    public static long decodedLength(CharIntPairList runs) {
+        long length = 0;
+        int[] counts = runs.rights;
+        for (int i = 0, n = runs.size; i < n; i++) {
+            length += checkCount(counts[i]);
+        }
+        return length;
+    }
+
+    /**
+     * Decodes runs, appending the characters to {@code out}.
+     *
+     * @param runs  the runs to decode, not null
+     * @param out  the builder to append to, not null
+     * @return {@code out}
+     * @throws IllegalArgumentException if any run has a negative count
+     */
+    public static StringBuilder decode(CharIntPairList runs, StringBuilder out) {
+        char[] symbols = runs.lefts;
+        int[] counts = runs.rights;
+        char[] buf = null;
+        for (int i = 0, n = runs.size; i < n; i++) {
+            char c = symbols[i];
+            int count = checkCount(counts[i]);
+            if (count <= 4) {
+                for (int j = 0; j < count; j++) {
+                    out.append(c);
+                }
+            } else {
+                if (buf == null) {
+                    buf = new char[256];
+                }
+                Arrays.fill(buf, c);
+                for (; count > buf.length; count -= buf.length) {
+                    out.append(buf);
+                }
+                out.append(buf, 0, count);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Decodes runs into a {@code char} array.
+     *
+     * @param runs  the runs to decode, not null
+     * @param out  the array to decode into, not null
+     * @param offset  the index in {@code out} of the first decoded character
+     * @return the number of characters written
+     * @throws IllegalArgumentException if any run has a negative count
+     * @throws IndexOutOfBoundsException if {@code out} is too small to hold the decoded characters
+     */
+    public static int decode(CharIntPairList runs, char[] out, int offset) {
+        long length = decodedLength(runs);
+        if (offset < 0 || offset > out.length || length > out.length - offset) {
+            throw new IndexOutOfBoundsException("cannot decode " + length + " chars at offset "
+                    + offset + " of an array of length " + out.length);
+        }
+        char[] symbols = runs.lefts;
+        int[] counts = runs.rights;
+        int pos = offset;
+        for (int i = 0, n = runs.size; i < n; i++) {
+            int end = pos + counts[i];
+            Arrays.fill(out, pos, end, symbols[i]);
+            pos = end;
+        }
+        return pos - offset;
+    }
+
+    private static int checkCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative run count: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * A streaming run-length encoder. Characters may be written in any number of chunks; a run that
+     * spans chunks is emitted once it ends, or when {@link #flush()} is called.
+     * <p>
+     * Not #ThreadSafe#
+     */
+    public static final class Encoder {
+
+        private final CharIntConsumer sink;
+        private final CharIntPairList runs;
+        private char symbol;
+        private int count;
+
+        /**
+         * Creates an encoder that emits each run to {@code sink}.
+         *
+         * @param sink  receives each {@code (symbol, count)} run, not null
+         */
+        public Encoder(CharIntConsumer sink) {
+            if (sink == null) {
+                throw new NullPointerException("sink");
+            }
+            this.sink = sink;
+            this.runs = null;
+        }
+
+        /**
+         * Creates an encoder that appends each run to {@code runs}.
+         *
+         * @param runs  the list to append to, not null
+         */
+        public Encoder(CharIntPairList runs) {
+            if (runs == null) {
+                throw new NullPointerException("runs");
+            }
+            this.sink = null;
+            this.runs = runs;
+        }
+
+        /**
+         * Encodes a single character.
+         *
+         * @param c  the character to encode
+         */
+        public void write(char c) {
+            append(c, 1);
+        }
+
+        /**
+         * Encodes a range of a {@code char} array.
+         *
+         * @param chars  the characters to encode, not null
+         * @param offset  the index of the first character to encode
+         * @param length  the number of characters to encode
+         * @throws IndexOutOfBoundsException if the range is out of bounds
+         */
+        public void write(char[] chars, int offset, int length) {
+            if (offset < 0 || length < 0 || offset > chars.length - length) {
+                throw new IndexOutOfBoundsException("offset " + offset + ", length " + length
+                        + ", array length " + chars.length);
+            }
+            int i = offset;
+            int end = offset + length;
+            while (i < end) {
+                char c = chars[i];
+                int start = i;
+                while (++i < end && chars[i] == c) {}
+                append(c, i - start);
+            }
+        }
+
+        /**
+         * Encodes a character sequence.
+         *
+         * @param chars  the characters to encode, not null
+         */
+        public void write(CharSequence chars) {
+            write(chars, 0, chars.length());
+        }
+
+        /**
+         * Encodes a range of a character sequence.
+         *
+         * @param chars  the characters to encode, not null
+         * @param start  the index of the first character to encode
+         * @param end  the index after the last character to encode
+         * @throws IndexOutOfBoundsException if the range is out of bounds
+         */
+        public void write(CharSequence chars, int start, int end) {
+            if (start < 0 || start > end || end > chars.length()) {
+                throw new IndexOutOfBoundsException(
+                        "start " + start + ", end " + end + ", length " + chars.length());
+            }
+            int i = start;
+            while (i < end) {
+                char c = chars.charAt(i);
+                int runStart = i;
+                while (++i < end && chars.charAt(i) == c) {}
+                append(c, i - runStart);
+            }
+        }
+
+        /**
+         * Emits the current run, if any. Writing may continue afterward; a run that continues with
+         * the same symbol is then emitted separately.
+         */
+        public void flush() {
+            if (count > 0) {
+                emit(symbol, count);
+                count = 0;
+            }
+        }
+
+        private void append(char c, int length) {
+            if (count > 0) {
+                if (c != symbol) {
+                    emit(symbol, count);
+                } else if (length <= Integer.MAX_VALUE - count) {
+                    count += length;
+                    return;
+                } else {
+                    length -= Integer.MAX_VALUE - count;
+                    emit(c, Integer.MAX_VALUE);
+                }
+            }
+            symbol = c;
+            count = length;
+        }
+
+        private void emit(char c, int n) {
+            if (runs != null) {
+                runs.add(c, n);
+            } else {
+                sink.accept(c, n);
+            }
+        }
+    }
+}
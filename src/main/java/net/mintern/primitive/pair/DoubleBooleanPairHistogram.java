@@ -0,0 +1,478 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A streaming histogram of {@link DoubleBooleanPair} {@code (value, flag)} samples, such as
+ * {@code (latency, isError)}, that keeps a separate histogram for each flag and answers quantile
+ * queries with bounded relative error.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split into
+ * 2<sup>significantBits</sup> equal buckets, so a bucket's width is at most
+ * 2<sup>-significantBits</sup> of its lower bound. The bucket of a value is read directly from the
+ * high bits of its IEEE 754 representation, so recording a sample is a shift and an array
+ * increment, with no allocation once the buckets covering the recorded range exist. Only the
+ * range of buckets between the smallest and largest recorded values is stored.
+ * <p>
+ * {@code 0.0} and the subnormal values below {@link Double#MIN_NORMAL} share a single bucket with
+ * a lower bound of {@code 0.0}, which is kept apart from that range, so recording zeros alongside
+ * other values costs no more memory than recording the other values alone. Quantiles that fall in
+ * this bucket are reported as the minimum, which is within {@code Double.MIN_NORMAL} of them.
+ * <p>
+ * Values must be finite and not negative. {@code -0.0} is recorded as {@code 0.0}. Samples from
+ * {@link FloatBooleanPair}s can be recorded directly, since every {@code float} is exactly
+ * representable as a {@code double}.
+ * <p>
+ * Not #ThreadSafe#. Histograms filled by separate threads can be combined with
+ * {@link #merge(DoubleBooleanPairHistogram)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class DoubleBooleanPairHistogram {
+
+    private static final int DEFAULT_SIGNIFICANT_BITS = 7;
+    private static final int MAX_SIGNIFICANT_BITS = 16;
+    private static final Buckets EMPTY = new Buckets();
+    /** The index of the bucket of 0.0 and the subnormal values, which is stored on its own. */
+    private static final int ZERO = -1;
+
+    private final int significantBits;
+    private final int shift;
+    private final Buckets unflagged = new Buckets();
+    private final Buckets flagged = new Buckets();
+
+    /**
+     * Creates an empty histogram with 7 significant bits, for a relative error of at most 0.4%.
+     */
+    public DoubleBooleanPairHistogram() {
+        this(DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * Creates an empty histogram that splits each power of two into
+     * 2<sup>significantBits</sup> buckets. Quantiles are reported at the midpoint of their bucket,
+     * so their relative error is at most 2<sup>-(significantBits + 1)</sup>.
+     *
+     * @param significantBits  the number of significant bits of each value to keep, from 1 to 16
+     * @throws IllegalArgumentException if {@code significantBits} is out of range
+     */
+    public DoubleBooleanPairHistogram(int significantBits) {
+        if (significantBits < 1 || significantBits > MAX_SIGNIFICANT_BITS) {
+            throw new IllegalArgumentException("significantBits out of range: " + significantBits);
+        }
+        this.significantBits = significantBits;
+        this.shift = 52 - significantBits;
+    }
+
+    /**
+     * Returns the number of significant bits that this histogram keeps of each value.
+     *
+     * @return the number of significant bits
+     */
+    public int significantBits() {
+        return significantBits;
+    }
+
+    private Buckets buckets(boolean flag) {
+        return flag ? flagged : unflagged;
+    }
+
+    private int index(double value) {
+        if (!(value >= 0 && value <= Double.MAX_VALUE)) {
+            throw new IllegalArgumentException("value must be finite and not negative: " + value);
+        }
+        if (value < Double.MIN_NORMAL) {
+            return ZERO;
+        }
+        return (int) (Double.doubleToRawLongBits(value) >>> shift);
+    }
+
+    private double lowerBound(int index) {
+        return Double.longBitsToDouble((long) index << shift);
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param value  the value, finite and not negative
+     * @param flag  the flag that selects the histogram to record in
+     * @throws IllegalArgumentException if {@code value} is negative or not finite
+     */
+    public void record(double value, boolean flag) {
+        buckets(flag).add(index(value), value, 1);
+    }
+
+    /**
+     * Records {@code count} samples with the same value and flag.
+     *
+     * @param value  the value, finite and not negative
+     * @param flag  the flag that selects the histogram to record in
+     * @param count  the number of samples, not negative
+     * @throws IllegalArgumentException if {@code value} is negative or not finite, or if
+     *         {@code count} is negative
+     */
+    public void record(double value, boolean flag, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        if (count > 0) {
+            buckets(flag).add(index(value), value, count);
+        }
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param value  the value, finite and not negative
+     * @param flag  the flag that selects the histogram to record in
+     * @throws IllegalArgumentException if {@code value} is negative or not finite
+     */
+    public void record(float value, boolean flag) {
+        record((double) value, flag);
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param sample  the {@code (value, flag)} sample, not null
+     * @throws IllegalArgumentException if the value is negative or not finite
+     */
+    public void record(DoubleBooleanPair sample) {
+        record(sample.getLeft(), sample.getRight());
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param sample  the {@code (value, flag)} sample, not null
+     * @throws IllegalArgumentException if the value is negative or not finite
+     */
+    public void record(FloatBooleanPair sample) {
+        record((double) sample.getLeft(), sample.getRight());
+    }
+
+    /**
+     * Adds all of the samples of another histogram to this one.
+     *
+     * @param other  the histogram to add, not null
+     * @throws IllegalArgumentException if the histograms keep different numbers of significant bits
+     */
+    public void merge(DoubleBooleanPairHistogram other) {
+        if (other.significantBits != significantBits) {
+            throw new IllegalArgumentException("significantBits differ: " + significantBits
+                    + " and " + other.significantBits);
+        }
+        unflagged.merge(other.unflagged);
+        flagged.merge(other.flagged);
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public void clear() {
+        unflagged.clear();
+        flagged.clear();
+    }
+
+    /**
+     * Returns the number of samples recorded with the given flag.
+     *
+     * @param flag  the flag
+     * @return the number of samples with that flag
+     */
+    public long count(boolean flag) {
+        return buckets(flag).total;
+    }
+
+    /**
+     * Returns the number of samples recorded with either flag.
+     *
+     * @return the total number of samples
+     */
+    public long totalCount() {
+        return unflagged.total + flagged.total;
+    }
+
+    /**
+     * Returns the smallest value recorded with the given flag.
+     *
+     * @param flag  the flag
+     * @return the exact minimum, or {@code NaN} if there are no samples with that flag
+     */
+    public double min(boolean flag) {
+        Buckets b = buckets(flag);
+        return b.total == 0 ? Double.NaN : b.min;
+    }
+
+    /**
+     * Returns the largest value recorded with the given flag.
+     *
+     * @param flag  the flag
+     * @return the exact maximum, or {@code NaN} if there are no samples with that flag
+     */
+    public double max(boolean flag) {
+        Buckets b = buckets(flag);
+        return b.total == 0 ? Double.NaN : b.max;
+    }
+
+    /**
+     * Returns the mean of the values recorded with the given flag.
+     *
+     * @param flag  the flag
+     * @return the mean, or {@code NaN} if there are no samples with that flag
+     */
+    public double mean(boolean flag) {
+        Buckets b = buckets(flag);
+        return b.total == 0 ? Double.NaN : b.sum / b.total;
+    }
+
+    /**
+     * Estimates a quantile of the values recorded with the given flag. Quantile 0 is the exact
+     * minimum and quantile 1 is the exact maximum.
+     *
+     * @param flag  the flag
+     * @param q  the quantile, from 0 to 1
+     * @return the estimated value at quantile {@code q}, or {@code NaN} if there are no samples
+     *         with that flag
+     * @throws IllegalArgumentException if {@code q} is out of range
+     */
+    public double quantile(boolean flag, double q) {
+        Buckets b = buckets(flag);
+        return quantile(q, b, EMPTY, b.total);
+    }
+
+    /**
+     * Estimates a quantile of the values recorded with either flag. Quantile 0 is the exact
+     * minimum and quantile 1 is the exact maximum.
+     *
+     * @param q  the quantile, from 0 to 1
+     * @return the estimated value at quantile {@code q}, or {@code NaN} if there are no samples
+     * @throws IllegalArgumentException if {@code q} is out of range
+     */
+    public double quantile(double q) {
+        return quantile(q, unflagged, flagged, totalCount());
+    }
+
+    private double quantile(double q, Buckets a, Buckets b, long total) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("quantile out of range: " + q);
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double min = Math.min(a.total == 0 ? Double.MAX_VALUE : a.min,
+                b.total == 0 ? Double.MAX_VALUE : b.min);
+        double max = Math.max(a.total == 0 ? 0 : a.max, b.total == 0 ? 0 : b.max);
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = a.zeros + b.zeros;
+        if (seen >= rank) {
+            return min;
+        }
+        int from = Math.min(a.firstIndex(), b.firstIndex());
+        int to = Math.max(a.endIndex(), b.endIndex());
+        for (int i = from; i < to; i++) {
+            seen += a.get(i) + b.get(i);
+            if (seen >= rank) {
+                double lo = lowerBound(i);
+                double mid = lo + (lowerBound(i + 1) - lo) / 2;
+                return Math.max(min, Math.min(max, mid));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Exports the non-empty buckets as {@code ((lowerBound, flag), count)} entries, in the order
+     * of their {@link DoubleBooleanPair} keys: by lower bound, then with unflagged samples first.
+     *
+     * @return the non-empty buckets with their counts, not null
+     */
+    public List<ObjLongPair<DoubleBooleanPair>> toList() {
+        List<ObjLongPair<DoubleBooleanPair>> list = new ArrayList<>();
+        if (unflagged.zeros != 0) {
+            list.add(ObjLongPair.<DoubleBooleanPair>of(
+                    ImmutableDoubleBooleanPair.of(0.0, false), unflagged.zeros));
+        }
+        if (flagged.zeros != 0) {
+            list.add(ObjLongPair.<DoubleBooleanPair>of(
+                    ImmutableDoubleBooleanPair.of(0.0, true), flagged.zeros));
+        }
+        int from = Math.min(unflagged.firstIndex(), flagged.firstIndex());
+        int to = Math.max(unflagged.endIndex(), flagged.endIndex());
+        for (int i = from; i < to; i++) {
+            long u = unflagged.get(i);
+            long f = flagged.get(i);
+            if ((u | f) != 0) {
+                double lo = lowerBound(i);
+                if (u != 0) {
+                    list.add(ObjLongPair.<DoubleBooleanPair>of(
+                            ImmutableDoubleBooleanPair.of(lo, false), u));
+                }
+                if (f != 0) {
+                    list.add(ObjLongPair.<DoubleBooleanPair>of(
+                            ImmutableDoubleBooleanPair.of(lo, true), f));
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a String summarizing the samples recorded with each flag.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "DoubleBooleanPairHistogram[false: " + summary(false) + ", true: " + summary(true)
+                + "]";
+    }
+
+    private String summary(boolean flag) {
+        long count = count(flag);
+        if (count == 0) {
+            return "count=0";
+        }
+        return "count=" + count + ", min=" + min(flag) + ", p50=" + quantile(flag, 0.5)
+                + ", p99=" + quantile(flag, 0.99) + ", max=" + max(flag);
+    }
+
+    /**
+     * The counts for one flag, stored for the contiguous range of bucket indices
+     * {@code [base, base + counts.length)}, apart from the count of the {@link #ZERO} bucket.
+     */
+    private static final class Buckets {
+
+        private static final long[] NONE = {};
+
+        long[] counts = NONE;
+        int base;
+        long zeros;
+        long total;
+        double sum;
+        double min;
+        double max;
+
+        void add(int index, double value, long count) {
+            // Adding 0.0 turns -0.0 into 0.0.
+            value += 0.0;
+            if (index == ZERO) {
+                zeros += count;
+            } else {
+                int i = index - base;
+                if (i < 0 || i >= counts.length) {
+                    cover(index, index + 1);
+                    i = index - base;
+                }
+                counts[i] += count;
+            }
+            if (total == 0) {
+                min = value;
+                max = value;
+            } else if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+            total += count;
+            sum += value * count;
+        }
+
+        /**
+         * Grows the counts so that they cover {@code [from, to)}, with room to spare.
+         */
+        void cover(int from, int to) {
+            if (counts.length == 0) {
+                int slack = 32;
+                counts = new long[to - from + 2 * slack];
+                base = Math.max(0, from - slack);
+                return;
+            }
+            int end = base + counts.length;
+            int newBase = Math.min(base, from);
+            int newEnd = Math.max(end, to);
+            int grow = Math.max(32, counts.length >> 1);
+            if (newBase < base) {
+                newBase = Math.max(0, newBase - grow);
+            }
+            if (newEnd > end) {
+                newEnd += grow;
+            }
+            long[] c = new long[newEnd - newBase];
+            System.arraycopy(counts, 0, c, base - newBase, counts.length);
+            counts = c;
+            base = newBase;
+        }
+
+        long get(int index) {
+            int i = index - base;
+            return i >= 0 && i < counts.length ? counts[i] : 0;
+        }
+
+        int firstIndex() {
+            return counts.length == 0 ? Integer.MAX_VALUE : base;
+        }
+
+        int endIndex() {
+            return counts.length == 0 ? Integer.MIN_VALUE : base + counts.length;
+        }
+
+        void merge(Buckets other) {
+            if (other.total == 0) {
+                return;
+            }
+            if (other.counts.length != 0) {
+                int from = other.firstIndex();
+                int to = other.endIndex();
+                if (from < base || to > base + counts.length) {
+                    cover(from, to);
+                }
+                long[] c = counts;
+                long[] o = other.counts;
+                int offset = other.base - base;
+                for (int i = 0; i < o.length; i++) {
+                    c[offset + i] += o[i];
+                }
+            }
+            zeros += other.zeros;
+            if (total == 0) {
+                min = other.min;
+                max = other.max;
+            } else {
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+            }
+            total += other.total;
+            sum += other.sum;
+        }
+
+        void clear() {
+            counts = NONE;
+            base = 0;
+            zeros = 0;
+            total = 0;
+            sum = 0;
+            min = 0;
+            max = 0;
+        }
+    }
+}
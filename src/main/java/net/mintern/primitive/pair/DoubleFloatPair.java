@@ -40,6 +40,47 @@ public abstract class DoubleFloatPair implements PrimitivePair<Double, Float>, C
         return ImmutableDoubleFloatPair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static int compare(double left1, float right1, double left2, float right2) {
+        int cmp = Double.compare(left1, left2);
+        return cmp != 0 ? cmp : Float.compare(right1, right2);
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(double left1, float right1, double left2, float right2) {
+        return Double.doubleToLongBits(left1) == Double.doubleToLongBits(left2)
+                && Float.floatToIntBits(right1) == Float.floatToIntBits(right2);
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(double left, float right) {
+        long leftBits = Double.doubleToLongBits(left);
+        return (int) (leftBits ^ (leftBits >>> 32)) ^ Float.floatToIntBits(right);
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -62,12 +103,14 @@ public abstract class DoubleFloatPair implements PrimitivePair<Double, Float>, C
      */
     @Override
     public int compareTo(DoubleFloatPair other) {
-        int cmp = Double.compare(getLeft(), other.getLeft());
-        return cmp != 0 ? cmp : Float.compare(getRight(), other.getRight());
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
-     * Compares this pair to another based on the two elements.
+     * Compares this pair to another based on the two elements. Floating-point elements are compared
+     * by their bits, as by {@link Double#equals(Object)} and {@link Float#equals(Object)}, so
+     * {@code NaN} is equal to itself and {@code 0.0} is not equal to {@code -0.0}. This is
+     * consistent with {@link #hashCode()} and {@link #compareTo}.
      *
      * @param obj  the object to compare to, null returns false
      * @return true if the elements of the pair are equal
@@ -79,7 +122,7 @@ public abstract class DoubleFloatPair implements PrimitivePair<Double, Float>, C
         }
         if (obj instanceof DoubleFloatPair) {
             DoubleFloatPair o = (DoubleFloatPair) obj;
-            return getLeft() == o.getLeft() && getRight() == o.getRight();
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -88,12 +131,12 @@ public abstract class DoubleFloatPair implements PrimitivePair<Double, Float>, C
      * Returns a hash code that follows the definition in {@link java.util.Map.Entry#hashCode()}.
      *
      * @return the hash code
-     * @see Double#hashCode(double)
-     * @see Float#hashCode(float)
+     * @see Double#hashCode()
+     * @see Float#hashCode()
      */
     @Override
     public int hashCode() {
-        return Double.hashCode(getLeft()) ^ Float.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
@@ -0,0 +1,82 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * The bulk {@code float} column operations behind {@link FloatPairKernels}, implemented with
+ * scalar loops. {@link FloatKernelsLoader} may substitute a vectorized subclass, which must
+ * produce exactly the same results.
+ *
+ * @author Brandon Mintern
+ */
+class FloatKernels {
+
+    /**
+     * Writes the indices {@code i < length} with {@code values[i] > threshold} to {@code out} in
+     * ascending order and returns how many there are.
+     */
+    int indicesGreaterThan(float[] values, int length, float threshold, int[] out) {
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] > threshold) {
+                out[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Sets {@code out[i]} to the squared distance from {@code (xs[i], ys[i])} to {@code (x, y)}
+     * for each {@code i < length}.
+     */
+    void squaredDistances(float[] xs, float[] ys, int length, float x, float y, float[] out) {
+        for (int i = 0; i < length; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            out[i] = dx * dx + dy * dy;
+        }
+    }
+
+    /**
+     * Returns the maximum of {@code values[0..length)}, ignoring {@code NaN}, or negative infinity
+     * if there is no such value. The sign of a zero maximum is unspecified.
+     */
+    float max(float[] values, int length) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the first index {@code i < length} with {@code values[i] == value}, or -1.
+     */
+    int indexOf(float[] values, int length, float value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if this implementation uses SIMD instructions.
+     */
+    boolean isVectorized() {
+        return false;
+    }
+}
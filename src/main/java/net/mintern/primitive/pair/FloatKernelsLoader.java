@@ -0,0 +1,29 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Chooses the {@link FloatKernels} implementation. This version always uses the scalar one; on
+ * Java 17 and later, the multi-release JAR supplies a version that uses the Vector API when the
+ * {@code jdk.incubator.vector} module is available.
+ *
+ * @author Brandon Mintern
+ */
+final class FloatKernelsLoader {
+
+    private FloatKernelsLoader() {}
+
+    static FloatKernels load() {
+        return new FloatKernels();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Bulk filtering and scoring of the {@code float} columns of {@link FloatPairList},
+ * {@link FloatIntPairList}, and {@link FloatCharPairList}.
+ * <p>
+ * Since the lists store each element type in its own array, these kernels run over a plain
+ * {@code float[]}. On Java 17 and later, when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, they use the Vector API at the platform's preferred
+ * vector width; otherwise they use scalar loops. Both implementations return identical results,
+ * and {@link #isVectorized()} reports which one is in use.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public final class FloatPairKernels {
+
+    private static final FloatKernels KERNELS = FloatKernelsLoader.load();
+
+    private FloatPairKernels() {}
+
+    /**
+     * Returns true if the kernels use the Vector API.
+     *
+     * @return true if the kernels are vectorized
+     */
+    public static boolean isVectorized() {
+        return KERNELS.isVectorized();
+    }
+
+    private static void checkOut(int length, int size) {
+        if (length < size) {
+            throw new IndexOutOfBoundsException("output length " + length + ", size " + size);
+        }
+    }
+
+    /**
+     * Finds the pairs whose left element is greater than {@code threshold}. {@code NaN} is never
+     * greater.
+     *
+     * @param pairs  the pairs to test, not null
+     * @param threshold  the exclusive lower bound
+     * @param indices  receives the indices of the matching pairs in ascending order, not null; must
+     *        be at least as long as {@code pairs}
+     * @return the number of matching pairs
+     * @throws IndexOutOfBoundsException if {@code indices} is too short
+     */
+    public static int indicesOfLeftGreaterThan(FloatPairList pairs, float threshold,
+            int[] indices) {
+        checkOut(indices.length, pairs.size);
+        return KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+    }
+
+    /**
+     * Finds the pairs whose left element is greater than {@code threshold}. {@code NaN} is never
+     * greater.
+     *
+     * @param pairs  the pairs to test, not null
+     * @param threshold  the exclusive lower bound
+     * @param indices  receives the indices of the matching pairs in ascending order, not null; must
+     *        be at least as long as {@code pairs}
+     * @return the number of matching pairs
+     * @throws IndexOutOfBoundsException if {@code indices} is too short
+     */
+    public static int indicesOfLeftGreaterThan(FloatIntPairList pairs, float threshold,
+            int[] indices) {
+        checkOut(indices.length, pairs.size);
+        return KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+    }
+
+    /**
+     * Finds the pairs whose left element is greater than {@code threshold}. {@code NaN} is never
+     * greater.
+     *
+     * @param pairs  the pairs to test, not null
+     * @param threshold  the exclusive lower bound
+     * @param indices  receives the indices of the matching pairs in ascending order, not null; must
+     *        be at least as long as {@code pairs}
+     * @return the number of matching pairs
+     * @throws IndexOutOfBoundsException if {@code indices} is too short
+     */
+    public static int indicesOfLeftGreaterThan(FloatCharPairList pairs, float threshold,
+            int[] indices) {
+        checkOut(indices.length, pairs.size);
+        return KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+    }
+
+    /**
+     * Copies the pairs whose left element is greater than {@code threshold}, in order, into a new
+     * list.
+     *
+     * @param pairs  the pairs to filter, not null
+     * @param threshold  the exclusive lower bound
+     * @return the matching pairs, not null
+     */
+    public static FloatPairList leftGreaterThan(FloatPairList pairs, float threshold) {
+        int[] indices = new int[pairs.size];
+        int n = KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+        FloatPairList result = new FloatPairList(n);
+        for (int i = 0; i < n; i++) {
+            result.lefts[i] = pairs.lefts[indices[i]];
+            result.rights[i] = pairs.rights[indices[i]];
+        }
+        result.size = n;
+        return result;
+    }
+
+    /**
+     * Copies the pairs whose left element is greater than {@code threshold}, in order, into a new
+     * list.
+     *
+     * @param pairs  the pairs to filter, not null
+     * @param threshold  the exclusive lower bound
+     * @return the matching pairs, not null
+     */
+    public static FloatIntPairList leftGreaterThan(FloatIntPairList pairs, float threshold) {
+        int[] indices = new int[pairs.size];
+        int n = KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+        FloatIntPairList result = new FloatIntPairList(n);
+        for (int i = 0; i < n; i++) {
+            result.lefts[i] = pairs.lefts[indices[i]];
+            result.rights[i] = pairs.rights[indices[i]];
+        }
+        result.size = n;
+        return result;
+    }
+
+    /**
+     * Copies the pairs whose left element is greater than {@code threshold}, in order, into a new
+     * list.
+     *
+     * @param pairs  the pairs to filter, not null
+     * @param threshold  the exclusive lower bound
+     * @return the matching pairs, not null
+     */
+    public static FloatCharPairList leftGreaterThan(FloatCharPairList pairs, float threshold) {
+        int[] indices = new int[pairs.size];
+        int n = KERNELS.indicesGreaterThan(pairs.lefts, pairs.size, threshold, indices);
+        FloatCharPairList result = new FloatCharPairList(n);
+        for (int i = 0; i < n; i++) {
+            result.lefts[i] = pairs.lefts[indices[i]];
+            result.rights[i] = pairs.rights[indices[i]];
+        }
+        result.size = n;
+        return result;
+    }
+
+    /**
+     * Computes the squared Euclidean distance from each {@code (x, y)} point in {@code points} to
+     * the point {@code (x, y)}.
+     *
+     * @param points  the points, not null
+     * @param x  the x coordinate of the point to measure from
+     * @param y  the y coordinate of the point to measure from
+     * @param out  receives the squared distance of each point at its index, not null; must be at
+     *        least as long as {@code points}
+     * @throws IndexOutOfBoundsException if {@code out} is too short
+     */
+    public static void squaredDistances(FloatPairList points, float x, float y, float[] out) {
+        checkOut(out.length, points.size);
+        KERNELS.squaredDistances(points.lefts, points.rights, points.size, x, y, out);
+    }
+
+    /**
+     * Computes the squared Euclidean distance from each {@code (x, y)} point in {@code points} to
+     * the point {@code (x, y)}.
+     *
+     * @param points  the points, not null
+     * @param x  the x coordinate of the point to measure from
+     * @param y  the y coordinate of the point to measure from
+     * @return the squared distance of each point at its index, not null
+     */
+    public static float[] squaredDistances(FloatPairList points, float x, float y) {
+        float[] out = new float[points.size];
+        KERNELS.squaredDistances(points.lefts, points.rights, points.size, x, y, out);
+        return out;
+    }
+
+    private static int argMax(float[] values, int size) {
+        return KERNELS.indexOf(values, size, KERNELS.max(values, size));
+    }
+
+    /**
+     * Returns the index of the pair with the largest left element, ignoring {@code NaN}s. If
+     * several pairs share the largest value, the first is returned; {@code 0.0f} and
+     * {@code -0.0f} are considered equal.
+     *
+     * @param pairs  the pairs to search, not null
+     * @return the index of the maximum, or -1 if there are no pairs with a non-{@code NaN} left
+     *         element
+     */
+    public static int argMaxLeft(FloatPairList pairs) {
+        return argMax(pairs.lefts, pairs.size);
+    }
+
+    /**
+     * Returns the index of the pair with the largest right element, ignoring {@code NaN}s. If
+     * several pairs share the largest value, the first is returned; {@code 0.0f} and
+     * {@code -0.0f} are considered equal.
+     *
+     * @param pairs  the pairs to search, not null
+     * @return the index of the maximum, or -1 if there are no pairs with a non-{@code NaN} right
+     *         element
+     */
+    public static int argMaxRight(FloatPairList pairs) {
+        return argMax(pairs.rights, pairs.size);
+    }
+
+    /**
+     * Returns the index of the pair with the largest left element, ignoring {@code NaN}s. If
+     * several pairs share the largest value, the first is returned; {@code 0.0f} and
+     * {@code -0.0f} are considered equal.
+     *
+     * @param pairs  the pairs to search, not null
+     * @return the index of the maximum, or -1 if there are no pairs with a non-{@code NaN} left
+     *         element
+     */
+    public static int argMaxLeft(FloatIntPairList pairs) {
+        return argMax(pairs.lefts, pairs.size);
+    }
+
+    /**
+     * Returns the index of the pair with the largest left element, ignoring {@code NaN}s. If
+     * several pairs share the largest value, the first is returned; {@code 0.0f} and
+     * {@code -0.0f} are considered equal.
+     *
+     * @param pairs  the pairs to search, not null
+     * @return the index of the maximum, or -1 if there are no pairs with a non-{@code NaN} left
+     *         element
+     */
+    public static int argMaxLeft(FloatCharPairList pairs) {
+        return argMax(pairs.lefts, pairs.size);
+    }
+}
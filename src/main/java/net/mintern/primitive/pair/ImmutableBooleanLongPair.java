@@ -45,6 +45,7 @@ public final class ImmutableBooleanLongPair extends BooleanLongPair {
 
     public final boolean left;
     public final long right;
+    private transient ImmutablePair<Boolean, Long> boxed;
 
     /**
      * Create a new pair instance.
@@ -67,8 +68,60 @@ public final class ImmutableBooleanLongPair extends BooleanLongPair {
         return right;
     }
 
+    /**
+     * Compares the pair based on the left element followed by the right element.
+     *
+     * @param other  the other pair, not null
+     * @return negative if this is less, zero if equal, positive if greater
+     */
+    @Override
+    public int compareTo(BooleanLongPair other) {
+        return compare(left, right, other.getLeft(), other.getRight());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if the elements of the pair are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof BooleanLongPair) {
+            BooleanLongPair o = (BooleanLongPair) obj;
+            return equals(left, right, o.getLeft(), o.getRight());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash(left, right);
+    }
+
+    /**
+     * Returns a boxed version of this pair. It is created on first use and cached, so repeated
+     * calls return the same instance.
+     *
+     * @return the boxed pair, not null
+     */
     @Override
     public ImmutablePair<Boolean, Long> boxed() {
-        return new ImmutablePair<>(left, right);
+        // A racy single check suffices: ImmutablePair's fields are final, so any thread that sees
+        // the cached instance sees it fully constructed.
+        ImmutablePair<Boolean, Long> b = boxed;
+        if (b == null) {
+            b = new ImmutablePair<>(left, right);
+            boxed = b;
+        }
+        return b;
     }
 }
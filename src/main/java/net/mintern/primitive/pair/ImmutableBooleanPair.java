@@ -45,6 +45,7 @@ public final class ImmutableBooleanPair extends BooleanPair {
 
     public final boolean left;
     public final boolean right;
+    private transient ImmutablePair<Boolean, Boolean> boxed;
 
     /**
      * Create a new pair instance.
@@ -67,8 +68,60 @@ public final class ImmutableBooleanPair extends BooleanPair {
         return right;
     }
 
+    /**
+     * Compares the pair based on the left element followed by the right element.
+     *
+     * @param other  the other pair, not null
+     * @return negative if this is less, zero if equal, positive if greater
+     */
+    @Override
+    public int compareTo(BooleanPair other) {
+        return compare(left, right, other.getLeft(), other.getRight());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if the elements of the pair are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof BooleanPair) {
+            BooleanPair o = (BooleanPair) obj;
+            return equals(left, right, o.getLeft(), o.getRight());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash(left, right);
+    }
+
+    /**
+     * Returns a boxed version of this pair. It is created on first use and cached, so repeated
+     * calls return the same instance.
+     *
+     * @return the boxed pair, not null
+     */
     @Override
     public ImmutablePair<Boolean, Boolean> boxed() {
-        return new ImmutablePair<>(left, right);
+        // A racy single check suffices: ImmutablePair's fields are final, so any thread that sees
+        // the cached instance sees it fully constructed.
+        ImmutablePair<Boolean, Boolean> b = boxed;
+        if (b == null) {
+            b = new ImmutablePair<>(left, right);
+            boxed = b;
+        }
+        return b;
     }
 }
@@ -46,6 +46,7 @@ public final class ImmutableByteIntPair extends ByteIntPair {
 
     public final byte left;
     public final int right;
+    private transient ImmutablePair<Byte, Integer> boxed;
 
     /**
      * Create a new pair instance.
@@ -68,8 +69,60 @@ public final class ImmutableByteIntPair extends ByteIntPair {
         return right;
     }
 
+    /**
+     * Compares the pair based on the left element followed by the right element.
+     *
+     * @param other  the other pair, not null
+     * @return negative if this is less, zero if equal, positive if greater
+     */
+    @Override
+    public int compareTo(ByteIntPair other) {
+        return compare(left, right, other.getLeft(), other.getRight());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if the elements of the pair are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof ByteIntPair) {
+            ByteIntPair o = (ByteIntPair) obj;
+            return equals(left, right, o.getLeft(), o.getRight());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash(left, right);
+    }
+
+    /**
+     * Returns a boxed version of this pair. It is created on first use and cached, so repeated
+     * calls return the same instance.
+     *
+     * @return the boxed pair, not null
+     */
     @Override
     public ImmutablePair<Byte, Integer> boxed() {
-        return new ImmutablePair<>(left, right);
+        // A racy single check suffices: ImmutablePair's fields are final, so any thread that sees
+        // the cached instance sees it fully constructed.
+        ImmutablePair<Byte, Integer> b = boxed;
+        if (b == null) {
+            b = new ImmutablePair<>(left, right);
+            boxed = b;
+        }
+        return b;
     }
 }
@@ -49,6 +49,7 @@ public final class ImmutableObjBytePair<L> extends ObjBytePair<L> {
 
     public final L left;
     public final byte right;
+    private transient ImmutablePair<L, Byte> boxed;
 
     /**
      * Create a new pair instance.
@@ -71,8 +72,61 @@ public final class ImmutableObjBytePair<L> extends ObjBytePair<L> {
         return right;
     }
 
+    /**
+     * Compares the pair based on the left element followed by the right element. The left element
+     * must be {@link Comparable}.
+     *
+     * @param other  the other pair, not null
+     * @return negative if this is less, zero if equal, positive if greater
+     */
+    @Override
+    public int compareTo(ObjBytePair<L> other) {
+        return compare(left, right, other.getLeft(), other.getRight());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj  the object to compare to, null returns false
+     * @return true if the elements of the pair are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof ObjBytePair<?>) {
+            ObjBytePair<?> o = (ObjBytePair<?>) obj;
+            return equals(left, right, o.getLeft(), o.getRight());
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash(left, right);
+    }
+
+    /**
+     * Returns a boxed version of this pair. It is created on first use and cached, so repeated
+     * calls return the same instance.
+     *
+     * @return the boxed pair, not null
+     */
     @Override
     public ImmutablePair<L, Byte> boxed() {
-        return new ImmutablePair<>(left, right);
+        // A racy single check suffices: ImmutablePair's fields are final, so any thread that sees
+        // the cached instance sees it fully constructed.
+        ImmutablePair<L, Byte> b = boxed;
+        if (b == null) {
+            b = new ImmutablePair<>(left, right);
+            boxed = b;
+        }
+        return b;
     }
 }
@@ -0,0 +1,700 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable directed graph with {@code float}-weighted edges, stored in compressed sparse row
+ * form. Vertices are the {@code int}s {@code 0} to {@code vertexCount() - 1}, and each edge is an
+ * {@link IntFloatPair} {@code (target, weight)} in its source vertex's adjacency list.
+ * <p>
+ * The outgoing edges of all vertices are stored contiguously in an {@code int[]} of targets and a
+ * {@code float[]} of weights, with an {@code int[]} of offsets marking where each vertex's edges
+ * start, so a graph costs 8 bytes per edge and 4 per vertex. The edges of vertex {@code v} have
+ * the indices {@code edgeStart(v)} to {@code edgeEnd(v) - 1}, in the order they were added:
+ *
+ * <pre>
+ * for (int e = graph.edgeStart(v), end = graph.edgeEnd(v); e &lt; end; e++) {
+ *     use(graph.target(e), graph.weight(e));
+ * }
+ * </pre>
+ *
+ * They can also be visited with a reusable {@link Cursor}, and shortest paths can be found without
+ * allocation, after setup, with a reusable {@link ShortestPaths}.
+ * <p>
+ * Graphs are created with a {@link Builder}. Weights must be non-negative.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public final class IntFloatGraph {
+
+    /**
+     * Creates a builder for a graph with the given number of vertices.
+     *
+     * @param vertexCount  the number of vertices, not negative
+     * @return a new builder, not null
+     * @throws IllegalArgumentException if {@code vertexCount} is negative
+     */
+    public static Builder builder(int vertexCount) {
+        return new Builder(vertexCount);
+    }
+
+    /** Edges of vertex {@code v} are at {@code offsets[v]} to {@code offsets[v + 1] - 1}. */
+    private final int[] offsets;
+    private final int[] targets;
+    private final float[] weights;
+
+    private IntFloatGraph(int[] offsets, int[] targets, float[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= offsets.length - 1) {
+            throw new IndexOutOfBoundsException(
+                    "vertex " + vertex + ", vertex count " + (offsets.length - 1));
+        }
+    }
+
+    /**
+     * Returns the number of edges leaving a vertex.
+     *
+     * @param vertex  the vertex
+     * @return the out-degree of {@code vertex}
+     * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+     */
+    public int degree(int vertex) {
+        checkVertex(vertex);
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns the index of the first edge leaving a vertex.
+     *
+     * @param vertex  the vertex
+     * @return the index of the first edge of {@code vertex}
+     * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+     */
+    public int edgeStart(int vertex) {
+        checkVertex(vertex);
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the index after the last edge leaving a vertex.
+     *
+     * @param vertex  the vertex
+     * @return the index after the last edge of {@code vertex}
+     * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+     */
+    public int edgeEnd(int vertex) {
+        checkVertex(vertex);
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Gets the target vertex of an edge.
+     *
+     * @param edge  the index of the edge
+     * @return the vertex that the edge leads to
+     * @throws IndexOutOfBoundsException if {@code edge} is out of range
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Gets the weight of an edge.
+     *
+     * @param edge  the index of the edge
+     * @return the edge's weight
+     * @throws IndexOutOfBoundsException if {@code edge} is out of range
+     */
+    public float weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Copies an edge into {@code into} as a {@code (target, weight)} pair.
+     *
+     * @param edge  the index of the edge
+     * @param into  the pair to overwrite, not null
+     * @return {@code into}
+     * @throws IndexOutOfBoundsException if {@code edge} is out of range
+     */
+    public MutableIntFloatPair get(int edge, MutableIntFloatPair into) {
+        into.left = targets[edge];
+        into.right = weights[edge];
+        return into;
+    }
+
+    /**
+     * Copies the edges leaving a vertex into a new list of {@code (target, weight)} pairs.
+     *
+     * @param vertex  the vertex
+     * @return the edges of {@code vertex}, not null
+     * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+     */
+    public IntFloatPairList neighbors(int vertex) {
+        checkVertex(vertex);
+        int from = offsets[vertex];
+        int to = offsets[vertex + 1];
+        return IntFloatPairList.zip(
+                Arrays.copyOfRange(targets, from, to), Arrays.copyOfRange(weights, from, to));
+    }
+
+    /**
+     * Returns a cursor over the edges leaving a vertex. The cursor can be moved to other vertices
+     * with {@link Cursor#reset(int)}.
+     *
+     * @param vertex  the vertex whose edges to visit
+     * @return a new cursor, not null
+     * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+     */
+    public Cursor cursor(int vertex) {
+        Cursor cursor = new Cursor();
+        cursor.reset(vertex);
+        return cursor;
+    }
+
+    /**
+     * Returns a new, reusable finder of shortest paths in this graph.
+     *
+     * @return a new finder, not null
+     */
+    public ShortestPaths shortestPaths() {
+        return new ShortestPaths();
+    }
+
+    /**
+     * Returns a String describing the graph's size.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "IntFloatGraph[vertices=" + vertexCount() + ", edges=" + edgeCount() + "]";
+    }
+
+    /**
+     * Collects the edges of an {@link IntFloatGraph}. Edges may be added in any order; each
+     * vertex's edges keep the order in which they were added.
+     * <p>
+     * Not #ThreadSafe#.
+     */
+    public static final class Builder {
+
+        private static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+        private final int vertexCount;
+        private int[] sources = new int[16];
+        private final IntFloatPairList edges = new IntFloatPairList(16);
+
+        private Builder(int vertexCount) {
+            if (vertexCount < 0 || vertexCount == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("vertexCount out of range: " + vertexCount);
+            }
+            this.vertexCount = vertexCount;
+        }
+
+        private void checkVertex(int vertex) {
+            if (vertex < 0 || vertex >= vertexCount) {
+                throw new IndexOutOfBoundsException(
+                        "vertex " + vertex + ", vertex count " + vertexCount);
+            }
+        }
+
+        /**
+         * Ensures that the builder can hold {@code edgeCount} edges without growing.
+         *
+         * @param edgeCount  the expected number of edges
+         * @return this builder, not null
+         */
+        public Builder ensureCapacity(int edgeCount) {
+            if (edgeCount > sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount);
+            }
+            edges.ensureCapacity(edgeCount);
+            return this;
+        }
+
+        /**
+         * Adds a directed edge.
+         *
+         * @param source  the vertex that the edge leaves
+         * @param target  the vertex that the edge leads to
+         * @param weight  the edge's weight, not negative or NaN
+         * @return this builder, not null
+         * @throws IndexOutOfBoundsException if {@code source} or {@code target} is out of range
+         * @throws IllegalArgumentException if {@code weight} is negative or NaN
+         */
+        public Builder addEdge(int source, int target, float weight) {
+            checkVertex(source);
+            checkVertex(target);
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException("invalid weight: " + weight);
+            }
+            int n = edges.size;
+            if (n == sources.length) {
+                if (n == MAX_EDGES) {
+                    throw new IllegalStateException("too many edges");
+                }
+                sources = Arrays.copyOf(sources, (int) Math.min(MAX_EDGES, n + (n >> 1) + 1L));
+            }
+            sources[n] = source;
+            edges.add(target, weight);
+            return this;
+        }
+
+        /**
+         * Adds a directed edge given as a {@code (target, weight)} pair.
+         *
+         * @param source  the vertex that the edge leaves
+         * @param edge  the edge's target and weight, not null
+         * @return this builder, not null
+         * @throws IndexOutOfBoundsException if {@code source} or the target is out of range
+         * @throws IllegalArgumentException if the weight is negative or NaN
+         */
+        public Builder addEdge(int source, IntFloatPair edge) {
+            return addEdge(source, edge.getLeft(), edge.getRight());
+        }
+
+        /**
+         * Adds directed edges from one vertex, given as {@code (target, weight)} pairs.
+         *
+         * @param source  the vertex that the edges leave
+         * @param edges  the edges' targets and weights, not null
+         * @return this builder, not null
+         * @throws IndexOutOfBoundsException if {@code source} or a target is out of range
+         * @throws IllegalArgumentException if a weight is negative or NaN
+         */
+        public Builder addEdges(int source, IntFloatPairList edges) {
+            ensureCapacity(this.edges.size + edges.size);
+            for (int i = 0; i < edges.size; i++) {
+                addEdge(source, edges.lefts[i], edges.rights[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Adds directed edges from one vertex, given as {@code (target, weight)} pairs.
+         *
+         * @param source  the vertex that the edges leave
+         * @param edges  the edges' targets and weights, not null
+         * @return this builder, not null
+         * @throws IndexOutOfBoundsException if {@code source} or a target is out of range
+         * @throws IllegalArgumentException if a weight is negative or NaN
+         */
+        public Builder addEdges(int source, Iterable<? extends IntFloatPair> edges) {
+            for (IntFloatPair edge : edges) {
+                addEdge(source, edge.getLeft(), edge.getRight());
+            }
+            return this;
+        }
+
+        /**
+         * Adds an edge in each direction between two vertices, as in a road that can be
+         * travelled both ways.
+         *
+         * @param a  one vertex
+         * @param b  the other vertex
+         * @param weight  the weight of both edges, not negative or NaN
+         * @return this builder, not null
+         * @throws IndexOutOfBoundsException if {@code a} or {@code b} is out of range
+         * @throws IllegalArgumentException if {@code weight} is negative or NaN
+         */
+        public Builder addUndirectedEdge(int a, int b, float weight) {
+            addEdge(a, b, weight);
+            return addEdge(b, a, weight);
+        }
+
+        /**
+         * Returns the number of edges added so far.
+         *
+         * @return the number of edges
+         */
+        public int edgeCount() {
+            return edges.size;
+        }
+
+        /**
+         * Builds a graph of the edges added so far. The builder can continue to be used.
+         *
+         * @return a new graph, not null
+         */
+        public IntFloatGraph build() {
+            int n = edges.size;
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < n; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            // A stable counting sort by source, using a copy of the offsets as insertion points.
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[n];
+            float[] weights = new float[n];
+            int[] ts = edges.lefts;
+            float[] ws = edges.rights;
+            for (int i = 0; i < n; i++) {
+                int e = next[sources[i]]++;
+                targets[e] = ts[i];
+                weights[e] = ws[i];
+            }
+            return new IntFloatGraph(offsets, targets, weights);
+        }
+    }
+
+    /**
+     * A cursor over the edges leaving one vertex of an {@link IntFloatGraph}. A cursor starts
+     * before the first edge; each call to {@link #next()} moves it to the following one.
+     * <p>
+     * Not #ThreadSafe#.
+     */
+    public final class Cursor {
+
+        private int start;
+        private int edge;
+        private int end;
+
+        private Cursor() {}
+
+        /**
+         * Moves this cursor before the first edge leaving {@code vertex}.
+         *
+         * @param vertex  the vertex whose edges to visit
+         * @return this cursor, not null
+         * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+         */
+        public Cursor reset(int vertex) {
+            checkVertex(vertex);
+            start = offsets[vertex];
+            edge = start - 1;
+            end = offsets[vertex + 1];
+            return this;
+        }
+
+        /**
+         * Advances to the next edge.
+         *
+         * @return true if there was another edge, or false if the cursor is exhausted
+         */
+        public boolean next() {
+            if (edge < end) {
+                edge++;
+            }
+            return edge < end;
+        }
+
+        /**
+         * Advances to the next edge and copies it into {@code into} as a {@code (target, weight)}
+         * pair.
+         *
+         * @param into  the pair to overwrite if there is another edge, not null
+         * @return true if there was another edge, or false if the cursor is exhausted
+         */
+        public boolean next(MutableIntFloatPair into) {
+            if (!next()) {
+                return false;
+            }
+            into.left = targets[edge];
+            into.right = weights[edge];
+            return true;
+        }
+
+        private void checkEdge() {
+            if (edge < start || edge >= end) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        /**
+         * Gets the index of the current edge.
+         *
+         * @return the current edge's index
+         * @throws NoSuchElementException if the cursor is not on an edge
+         */
+        public int getEdge() {
+            checkEdge();
+            return edge;
+        }
+
+        /**
+         * Gets the target vertex of the current edge.
+         *
+         * @return the current edge's target
+         * @throws NoSuchElementException if the cursor is not on an edge
+         */
+        public int getTarget() {
+            checkEdge();
+            return targets[edge];
+        }
+
+        /**
+         * Gets the weight of the current edge.
+         *
+         * @return the current edge's weight
+         * @throws NoSuchElementException if the cursor is not on an edge
+         */
+        public float getWeight() {
+            checkEdge();
+            return weights[edge];
+        }
+    }
+
+    /**
+     * Finds shortest paths from a source vertex of an {@link IntFloatGraph} with Dijkstra's
+     * algorithm. A finder allocates its working arrays once, in proportion to the number of
+     * vertices, and can then run any number of searches without allocating. Each search only
+     * touches the vertices it reaches, so short point-to-point searches in a large graph stay
+     * fast.
+     * <p>
+     * After a search, {@link #distance(int)}, {@link #predecessor(int)} and {@link #path(int)}
+     * describe the shortest paths to every vertex that the search settled: all reachable vertices
+     * after {@link #search(int)}, and at least the target and every vertex nearer than it after
+     * {@link #search(int, int)}. Distances are accumulated in {@code float} precision.
+     * <p>
+     * Not #ThreadSafe#. Threads can search the same graph with finders of their own.
+     */
+    public final class ShortestPaths {
+
+        /** The {@link #heapIndex} of a vertex that has been settled. */
+        private static final int SETTLED = -1;
+
+        private final float[] dist;
+        private final int[] pred;
+        /** A vertex's entries are valid only if its stamp equals {@link #epoch}. */
+        private final int[] stamps;
+        /** A vertex's position in the heap, or {@link #SETTLED}. */
+        private final int[] heapIndex;
+        /** A binary min-heap of {@code (distance, vertex)} pairs, as parallel arrays. */
+        private final float[] heapKeys;
+        private final int[] heapVertices;
+        private int heapSize;
+        private int epoch;
+        private int source = -1;
+
+        private ShortestPaths() {
+            int n = vertexCount();
+            dist = new float[n];
+            pred = new int[n];
+            stamps = new int[n];
+            heapIndex = new int[n];
+            heapKeys = new float[n];
+            heapVertices = new int[n];
+        }
+
+        /**
+         * Finds the shortest paths from {@code source} to every vertex reachable from it.
+         *
+         * @param source  the vertex to start from
+         * @throws IndexOutOfBoundsException if {@code source} is out of range
+         */
+        public void search(int source) {
+            run(source, -1);
+        }
+
+        /**
+         * Finds the shortest path from {@code source} to {@code target}, stopping as soon as it is
+         * known.
+         *
+         * @param source  the vertex to start from
+         * @param target  the vertex to find a path to
+         * @return the length of the shortest path, or {@link Float#POSITIVE_INFINITY} if
+         *         {@code target} is unreachable
+         * @throws IndexOutOfBoundsException if {@code source} or {@code target} is out of range
+         */
+        public float search(int source, int target) {
+            checkVertex(target);
+            run(source, target);
+            return distance(target);
+        }
+
+        private void run(int source, int target) {
+            checkVertex(source);
+            if (++epoch == 0) {
+                // The stamps wrapped around, so old ones could look current.
+                Arrays.fill(stamps, 0);
+                epoch = 1;
+            }
+            this.source = source;
+            heapSize = 0;
+            reach(source, 0, -1);
+            int[] offs = offsets;
+            int[] ts = targets;
+            float[] ws = weights;
+            while (heapSize > 0) {
+                int v = heapVertices[0];
+                float d = heapKeys[0];
+                removeMin();
+                heapIndex[v] = SETTLED;
+                if (v == target) {
+                    return;
+                }
+                for (int e = offs[v], end = offs[v + 1]; e < end; e++) {
+                    int u = ts[e];
+                    float du = d + ws[e];
+                    if (stamps[u] != epoch) {
+                        reach(u, du, v);
+                    } else if (heapIndex[u] != SETTLED && du < dist[u]) {
+                        dist[u] = du;
+                        pred[u] = v;
+                        siftUp(heapIndex[u], u, du);
+                    }
+                }
+            }
+        }
+
+        private void reach(int v, float d, int from) {
+            stamps[v] = epoch;
+            dist[v] = d;
+            pred[v] = from;
+            siftUp(heapSize++, v, d);
+        }
+
+        private void removeMin() {
+            int last = --heapSize;
+            if (last > 0) {
+                siftDown(0, heapVertices[last], heapKeys[last]);
+            }
+        }
+
+        /**
+         * Places {@code (key, v)} at heap position {@code k} or above.
+         */
+        private void siftUp(int k, int v, float key) {
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (heapKeys[parent] <= key) {
+                    break;
+                }
+                place(k, heapVertices[parent], heapKeys[parent]);
+                k = parent;
+            }
+            place(k, v, key);
+        }
+
+        /**
+         * Places {@code (key, v)} at heap position {@code k} or below.
+         */
+        private void siftDown(int k, int v, float key) {
+            int half = heapSize >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                    child++;
+                }
+                if (key <= heapKeys[child]) {
+                    break;
+                }
+                place(k, heapVertices[child], heapKeys[child]);
+                k = child;
+            }
+            place(k, v, key);
+        }
+
+        private void place(int k, int v, float key) {
+            heapKeys[k] = key;
+            heapVertices[k] = v;
+            heapIndex[v] = k;
+        }
+
+        private boolean settled(int vertex) {
+            checkVertex(vertex);
+            return stamps[vertex] == epoch && epoch != 0 && heapIndex[vertex] == SETTLED;
+        }
+
+        /**
+         * Returns the source vertex of the last search.
+         *
+         * @return the last source, or -1 if there has been no search
+         */
+        public int source() {
+            return source;
+        }
+
+        /**
+         * Returns the length of the shortest path from the last source to {@code vertex}.
+         *
+         * @param vertex  the vertex to find the distance to
+         * @return the shortest distance, or {@link Float#POSITIVE_INFINITY} if the last search
+         *         did not settle {@code vertex}
+         * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+         */
+        public float distance(int vertex) {
+            return settled(vertex) ? dist[vertex] : Float.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Returns the vertex before {@code vertex} on the shortest path from the last source.
+         *
+         * @param vertex  the vertex to find the predecessor of
+         * @return the predecessor, or -1 if {@code vertex} is the source or was not settled by
+         *         the last search
+         * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+         */
+        public int predecessor(int vertex) {
+            return settled(vertex) ? pred[vertex] : -1;
+        }
+
+        /**
+         * Returns the shortest path from the last source to {@code vertex} as
+         * {@code (vertex, distance)} pairs, starting with {@code (source, 0)} and ending with
+         * {@code vertex} and its distance.
+         *
+         * @param vertex  the vertex to find the path to
+         * @return the path, empty if the last search did not settle {@code vertex}, not null
+         * @throws IndexOutOfBoundsException if {@code vertex} is out of range
+         */
+        public IntFloatPairList path(int vertex) {
+            if (!settled(vertex)) {
+                return new IntFloatPairList(0);
+            }
+            int length = 1;
+            for (int v = vertex; pred[v] >= 0; v = pred[v]) {
+                length++;
+            }
+            int[] vertices = new int[length];
+            float[] distances = new float[length];
+            for (int v = vertex, i = length - 1; i >= 0; v = pred[v], i--) {
+                vertices[i] = v;
+                distances[i] = dist[v];
+            }
+            return IntFloatPairList.zip(vertices, distances);
+        }
+    }
+}
@@ -0,0 +1,611 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * Aggregates the {@code float} values of {@code (int, float)} pairs by their {@code int} keys, as
+ * in totalling {@code (userId, amount)} records per user. For each key, the count, sum, minimum,
+ * maximum and mean of its values are kept.
+ * <p>
+ * Pairs are added one at a time with {@link #add(int, float)}, which also makes a group-by an
+ * {@link IntFloatConsumer}, or in bulk from an {@link IntFloatPairList}. Groups are found with an
+ * open-addressing hash table of {@code int} keys, and their aggregates are kept in parallel
+ * primitive arrays, so no objects are allocated per pair or per key. Sums are accumulated as
+ * {@code double}s. {@link #of(IntFloatPairList, int)} aggregates a large list on several threads.
+ * <p>
+ * Results are read per key, or exported in ascending key order. The sums, minimums and maximums
+ * are exported as pair columns such as {@link #sums()}, whose right elements are the aggregates of
+ * the keys in their left elements. Counts are {@code long}s and means are {@code double}s whatever
+ * the value type, so {@link #counts()} and {@link #means()} return arrays in the order of
+ * {@link #keys()} instead, as they do in {@link CharLongGroupBy}.
+ * <p>
+ * Not #ThreadSafe#. Group-bys filled by separate threads can be combined with
+ * {@link #merge(IntFloatGroupBy)}.
+ *
+ * @author Brandon Mintern
+ */
+public final class IntFloatGroupBy implements IntFloatConsumer {
+
+    private static final int MAX_GROUPS = 1 << 29;
+    private static final int MIN_GROUPS = 8;
+    /** The fewest pairs per thread for which {@link #of(IntFloatPairList, int)} uses threads. */
+    private static final int PARALLEL_SLICE = 1 << 16;
+
+    private static final int SUM = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+
+    /**
+     * Aggregates the pairs of a list.
+     *
+     * @param pairs  the {@code (key, value)} pairs, not null
+     * @return a new group-by of the pairs, not null
+     */
+    public static IntFloatGroupBy of(IntFloatPairList pairs) {
+        IntFloatGroupBy groups = new IntFloatGroupBy();
+        groups.addAll(pairs);
+        return groups;
+    }
+
+    /**
+     * Aggregates the pairs of a list on up to {@code parallelism} threads. The pairs are first
+     * partitioned by a hash of their keys, each thread scattering a slice of the list, and then
+     * each thread aggregates one partition, so no two threads aggregate the same key. This is
+     * worthwhile for lists of millions of pairs; smaller lists are aggregated on the calling
+     * thread.
+     *
+     * @param pairs  the {@code (key, value)} pairs, not null
+     * @param parallelism  the maximum number of threads to use, positive
+     * @return a new group-by of the pairs, not null
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public static IntFloatGroupBy of(IntFloatPairList pairs, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism not positive: " + parallelism);
+        }
+        int n = pairs.size;
+        int p = Math.min(parallelism, n / PARALLEL_SLICE);
+        if (p <= 1) {
+            return of(pairs);
+        }
+        return new Partitioner(pairs.lefts, pairs.rights, n, p).run();
+    }
+
+    /** The hash table: the key in each slot, and the index of its group + 1, or 0 if empty. */
+    private int[] tableKeys;
+    private int[] tableGroups;
+    private int mask;
+    /** The keys and aggregates of the groups, in the order their keys were first added. */
+    private int[] keys;
+    private long[] counts;
+    private double[] sums;
+    private float[] mins;
+    private float[] maxes;
+    private int size;
+
+    /**
+     * Creates an empty group-by.
+     */
+    public IntFloatGroupBy() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty group-by that can hold {@code expectedKeys} keys without resizing.
+     *
+     * @param expectedKeys  the expected number of distinct keys, not negative
+     * @throws IllegalArgumentException if {@code expectedKeys} is negative
+     */
+    public IntFloatGroupBy(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("negative expectedKeys: " + expectedKeys);
+        }
+        if (expectedKeys > MAX_GROUPS) {
+            throw new IllegalArgumentException("too many keys: " + expectedKeys);
+        }
+        int groups = Math.max(MIN_GROUPS, expectedKeys);
+        keys = new int[groups];
+        counts = new long[groups];
+        sums = new double[groups];
+        mins = new float[groups];
+        maxes = new float[groups];
+        allocateTable(groups);
+    }
+
+    /**
+     * Allocates a table that is at most half full when it holds {@code groups} groups.
+     */
+    private void allocateTable(int groups) {
+        int capacity = Integer.highestOneBit(groups - 1) << 2;
+        tableKeys = new int[capacity];
+        tableGroups = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int home(int key, int mask) {
+        return (int) PairHash.mix(key) & mask;
+    }
+
+    /**
+     * Returns the index of the group for {@code key}, or -1 if there is none.
+     */
+    private int find(int key) {
+        for (int i = home(key, mask); ; i = (i + 1) & mask) {
+            int g = tableGroups[i];
+            if (g == 0) {
+                return -1;
+            }
+            if (tableKeys[i] == key) {
+                return g - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the group for {@code key}, creating an empty one if there is none.
+     */
+    private int group(int key) {
+        int i = home(key, mask);
+        for (; ; i = (i + 1) & mask) {
+            int g = tableGroups[i];
+            if (g == 0) {
+                break;
+            }
+            if (tableKeys[i] == key) {
+                return g - 1;
+            }
+        }
+        int g = size;
+        if (g == keys.length) {
+            grow();
+            return group(key);
+        }
+        tableKeys[i] = key;
+        tableGroups[i] = g + 1;
+        keys[g] = key;
+        counts[g] = 0;
+        sums[g] = 0;
+        mins[g] = Float.POSITIVE_INFINITY;
+        maxes[g] = Float.NEGATIVE_INFINITY;
+        size = g + 1;
+        return g;
+    }
+
+    private void grow() {
+        if (size == MAX_GROUPS) {
+            throw new IllegalStateException("too many keys");
+        }
+        int groups = Math.min(MAX_GROUPS, 2 * size);
+        keys = Arrays.copyOf(keys, groups);
+        counts = Arrays.copyOf(counts, groups);
+        sums = Arrays.copyOf(sums, groups);
+        mins = Arrays.copyOf(mins, groups);
+        maxes = Arrays.copyOf(maxes, groups);
+        allocateTable(groups);
+        for (int g = 0; g < size; g++) {
+            int i = home(keys[g], mask);
+            while (tableGroups[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            tableKeys[i] = keys[g];
+            tableGroups[i] = g + 1;
+        }
+    }
+
+    /**
+     * Adds a value to the group of its key.
+     *
+     * @param key  the key
+     * @param value  the value
+     */
+    public void add(int key, float value) {
+        int g = group(key);
+        counts[g]++;
+        sums[g] += value;
+        mins[g] = Math.min(mins[g], value);
+        maxes[g] = Math.max(maxes[g], value);
+    }
+
+    /**
+     * Adds a value to the group of its key. This is the same as {@link #add(int, float)}.
+     *
+     * @param key  the key
+     * @param value  the value
+     */
+    @Override
+    public void accept(int key, float value) {
+        add(key, value);
+    }
+
+    /**
+     * Adds a {@code (key, value)} pair.
+     *
+     * @param pair  the pair, not null
+     */
+    public void add(IntFloatPair pair) {
+        add(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Adds all the {@code (key, value)} pairs of a list.
+     *
+     * @param pairs  the pairs, not null
+     */
+    public void addAll(IntFloatPairList pairs) {
+        addAll(pairs.lefts, pairs.rights, 0, pairs.size);
+    }
+
+    private void addAll(int[] ks, float[] vs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(ks[i], vs[i]);
+        }
+    }
+
+    /**
+     * Combines another group-by's aggregates with this one's, so that this group-by aggregates
+     * the pairs of both.
+     *
+     * @param other  the group-by to combine with this one, not null
+     */
+    public void merge(IntFloatGroupBy other) {
+        for (int o = 0; o < other.size; o++) {
+            int g = group(other.keys[o]);
+            counts[g] += other.counts[o];
+            sums[g] += other.sums[o];
+            mins[g] = Math.min(mins[g], other.mins[o]);
+            maxes[g] = Math.max(maxes[g], other.maxes[o]);
+        }
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if no pairs have been added.
+     *
+     * @return true if there are no groups
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns true if a value has been added for {@code key}.
+     *
+     * @param key  the key
+     * @return true if there is a group for {@code key}
+     */
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Returns the number of values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the count, or 0 if there is no group for {@code key}
+     */
+    public long count(int key) {
+        int g = find(key);
+        return g < 0 ? 0 : counts[g];
+    }
+
+    /**
+     * Returns the sum of the values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the sum, or 0 if there is no group for {@code key}
+     */
+    public double sum(int key) {
+        int g = find(key);
+        return g < 0 ? 0 : sums[g];
+    }
+
+    /**
+     * Returns the least value added for {@code key}, as by {@link Math#min(float, float)}.
+     *
+     * @param key  the key
+     * @return the minimum, or {@code NaN} if there is no group for {@code key}
+     */
+    public float min(int key) {
+        int g = find(key);
+        return g < 0 ? Float.NaN : mins[g];
+    }
+
+    /**
+     * Returns the greatest value added for {@code key}, as by {@link Math#max(float, float)}.
+     *
+     * @param key  the key
+     * @return the maximum, or {@code NaN} if there is no group for {@code key}
+     */
+    public float max(int key) {
+        int g = find(key);
+        return g < 0 ? Float.NaN : maxes[g];
+    }
+
+    /**
+     * Returns the mean of the values added for {@code key}.
+     *
+     * @param key  the key
+     * @return the mean, or {@code NaN} if there is no group for {@code key}
+     */
+    public double mean(int key) {
+        int g = find(key);
+        return g < 0 ? Double.NaN : sums[g] / counts[g];
+    }
+
+    /**
+     * Returns the indices of the groups in ascending key order.
+     */
+    private int[] sortedGroups() {
+        long[] order = new long[size];
+        for (int g = 0; g < size; g++) {
+            order[g] = (long) keys[g] << 32 | g;
+        }
+        Arrays.sort(order);
+        int[] groups = new int[size];
+        for (int i = 0; i < size; i++) {
+            groups[i] = (int) order[i];
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the distinct keys in ascending order. The other columns list their aggregates in
+     * the same order.
+     *
+     * @return a new array of the keys, not null
+     */
+    public int[] keys() {
+        int[] groups = sortedGroups();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = keys[groups[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of values added for each key, in ascending key order.
+     *
+     * @return a new array of the counts, in the order of {@link #keys()}, not null
+     */
+    public long[] counts() {
+        int[] groups = sortedGroups();
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = counts[groups[i]];
+        }
+        return result;
+    }
+
+    private IntFloatPairList column(int aggregate) {
+        int[] groups = sortedGroups();
+        IntFloatPairList result = new IntFloatPairList(size);
+        for (int g : groups) {
+            float value;
+            switch (aggregate) {
+                case SUM:
+                    value = (float) sums[g];
+                    break;
+                case MIN:
+                    value = mins[g];
+                    break;
+                default:
+                    value = maxes[g];
+                    break;
+            }
+            result.add(keys[g], value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code (key, sum)} pairs in ascending key order.
+     *
+     * @return a new list of the sums, rounded to {@code float}, not null
+     */
+    public IntFloatPairList sums() {
+        return column(SUM);
+    }
+
+    /**
+     * Returns {@code (key, min)} pairs in ascending key order.
+     *
+     * @return a new list of the minimums, not null
+     */
+    public IntFloatPairList mins() {
+        return column(MIN);
+    }
+
+    /**
+     * Returns {@code (key, max)} pairs in ascending key order.
+     *
+     * @return a new list of the maximums, not null
+     */
+    public IntFloatPairList maxes() {
+        return column(MAX);
+    }
+
+    /**
+     * Returns the mean of each key's values, in ascending key order.
+     *
+     * @return a new array of the means, in the order of {@link #keys()}, not null
+     */
+    public double[] means() {
+        int[] groups = sortedGroups();
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            int g = groups[i];
+            result[i] = sums[g] / counts[g];
+        }
+        return result;
+    }
+
+    /**
+     * Removes all groups.
+     */
+    public void clear() {
+        Arrays.fill(tableGroups, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns a String representation of the sums in ascending key order, using the format
+     * {@code [($key,$sum), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return sums().toString();
+    }
+
+    /**
+     * Aggregates parallel arrays of pairs on several threads by partitioning them by key.
+     */
+    private static final class Partitioner {
+        private final int[] ks;
+        private final float[] vs;
+        private final int n;
+        private final int p;
+        /** {@code starts[t][q]} is where slice {@code t} scatters its first pair of partition q. */
+        private final int[][] starts;
+        private final int[] partitionKeys;
+        private final float[] partitionValues;
+        /** Partition q holds the pairs at {@code bounds[q]} to {@code bounds[q + 1] - 1}. */
+        private final int[] bounds;
+        private final IntFloatGroupBy[] results;
+        private volatile Throwable failure;
+
+        Partitioner(int[] ks, float[] vs, int n, int p) {
+            this.ks = ks;
+            this.vs = vs;
+            this.n = n;
+            this.p = p;
+            starts = new int[p][p];
+            partitionKeys = new int[n];
+            partitionValues = new float[n];
+            bounds = new int[p + 1];
+            results = new IntFloatGroupBy[p];
+        }
+
+        private int partition(int key) {
+            // Use the high bits of the hash; the tables use the low ones.
+            return (int) (((PairHash.mix(key) >>> 32) * p) >>> 32);
+        }
+
+        private int sliceStart(int t) {
+            return (int) ((long) n * t / p);
+        }
+
+        IntFloatGroupBy run() {
+            runThreads(0);
+            // Lay the partitions out one after another, each slice's pairs in slice order.
+            int offset = 0;
+            for (int q = 0; q < p; q++) {
+                bounds[q] = offset;
+                for (int t = 0; t < p; t++) {
+                    int count = starts[t][q];
+                    starts[t][q] = offset;
+                    offset += count;
+                }
+            }
+            bounds[p] = offset;
+            runThreads(1);
+            runThreads(2);
+            IntFloatGroupBy merged = results[0];
+            for (int q = 1; q < p; q++) {
+                merged.merge(results[q]);
+            }
+            return merged;
+        }
+
+        private void runThreads(final int phase) {
+            Thread[] threads = new Thread[p];
+            for (int t = 0; t < p; t++) {
+                final int id = t;
+                threads[t] = new Thread("IntFloatGroupBy-" + id) {
+                    @Override
+                    public void run() {
+                        try {
+                            runPhase(phase, id);
+                        } catch (Throwable e) {
+                            failure = e;
+                        }
+                    }
+                };
+                threads[t].start();
+            }
+            boolean interrupted = false;
+            for (Thread thread : threads) {
+                while (true) {
+                    try {
+                        thread.join();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable e = failure;
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            if (e != null) {
+                throw (Error) e;
+            }
+        }
+
+        private void runPhase(int phase, int t) {
+            switch (phase) {
+                case 0: {
+                    // Count the pairs of each partition in slice t.
+                    int[] counts = starts[t];
+                    for (int i = sliceStart(t), end = sliceStart(t + 1); i < end; i++) {
+                        counts[partition(ks[i])]++;
+                    }
+                    break;
+                }
+                case 1: {
+                    // Scatter slice t into the partitions.
+                    int[] next = starts[t];
+                    for (int i = sliceStart(t), end = sliceStart(t + 1); i < end; i++) {
+                        int j = next[partition(ks[i])]++;
+                        partitionKeys[j] = ks[i];
+                        partitionValues[j] = vs[i];
+                    }
+                    break;
+                }
+                default: {
+                    // Aggregate partition t.
+                    IntFloatGroupBy groups = new IntFloatGroupBy();
+                    groups.addAll(partitionKeys, partitionValues, bounds[t], bounds[t + 1]);
+                    results[t] = groups;
+                    break;
+                }
+            }
+        }
+    }
+}
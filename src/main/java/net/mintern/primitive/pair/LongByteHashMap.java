@@ -0,0 +1,544 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * A compact map from {@code long} keys to {@code byte} values, such as a table of per-entity
+ * {@link LongBytePair} {@code (id, state)} entries.
+ * <p>
+ * Entries are stored with open addressing and linear probing in a {@code long[]} of keys and a
+ * separate {@code byte[]} of values, so each slot costs 9 bytes and no objects are allocated per
+ * entry. At the default load factor of 0.75, a map uses between 12 and 24 bytes per entry,
+ * compared to more than 60 for a {@code HashMap<Long, Byte>}. Removal shifts later entries of the
+ * probe sequence back rather than leaving tombstones, so heavy churn does not degrade lookups.
+ * <p>
+ * Entries can be visited without allocation with a {@link Cursor} or a {@link LongByteConsumer},
+ * snapshotted into a {@link LongBytePairList} sorted by key, and bulk-loaded from one.
+ * <p>
+ * Not #ThreadSafe#.
+ *
+ * @author Brandon Mintern
+ */
+public final class LongByteHashMap {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIN_CAPACITY = 8;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Creates a map containing the entries of a list. If a key appears more than once, the last
+     * value for it wins.
+     *
+     * @param entries  the {@code (key, value)} entries, not null
+     * @return a new map, not null
+     */
+    public static LongByteHashMap of(LongBytePairList entries) {
+        LongByteHashMap map = new LongByteHashMap(entries.size());
+        map.putAll(entries);
+        return map;
+    }
+
+    private final float loadFactor;
+    /** The keys of the slots; a slot is empty if its key is 0. */
+    private long[] keys;
+    private byte[] values;
+    /** Key 0 marks empty slots, so its entry is kept out of the table. */
+    private boolean hasZeroKey;
+    private byte zeroValue;
+    private int size;
+    private int mask;
+    private int maxFill;
+    private int modCount;
+
+    /**
+     * Creates an empty map with a small default capacity.
+     */
+    public LongByteHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that can hold {@code expectedSize} entries without resizing.
+     *
+     * @param expectedSize  the expected number of entries, not negative
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or more than the map
+     *         can hold
+     */
+    public LongByteHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map that can hold {@code expectedSize} entries without resizing, resizing
+     * once the given fraction of its slots are full. Higher load factors save memory at the cost
+     * of longer probe sequences.
+     *
+     * @param expectedSize  the expected number of entries, not negative
+     * @param loadFactor  the maximum fraction of full slots, greater than 0 and less than 1
+     * @throws IllegalArgumentException if {@code loadFactor} is out of range, or if
+     *         {@code expectedSize} is negative or more than the map can hold at that load factor
+     */
+    public LongByteHashMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative expectedSize: " + expectedSize);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("loadFactor out of range: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        if (slotsFor(expectedSize) > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large for load factor "
+                    + loadFactor + ": " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the number of slots needed to hold {@code expectedSize} entries at the load factor.
+     */
+    private long slotsFor(int expectedSize) {
+        return (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+    }
+
+    private int capacityFor(int expectedSize) {
+        long needed = slotsFor(expectedSize);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("too many entries: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new byte[capacity];
+        mask = capacity - 1;
+        maxFill = Math.min(capacity - 1, (int) (capacity * (double) loadFactor));
+    }
+
+    private int slot(long key) {
+        return (int) PairHash.mix(key) & mask;
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or -1 if it is absent. The key must not be 0.
+     */
+    private int find(long key) {
+        long[] k = keys;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long cur = k[i];
+            if (cur == key) {
+                return i;
+            }
+            if (cur == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the map has no entries.
+     *
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns true if the map has an entry for {@code key}.
+     *
+     * @param key  the key
+     * @return true if the key is present
+     */
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * Gets the value for {@code key}, or {@code defaultValue} if the key is absent.
+     *
+     * @param key  the key
+     * @param defaultValue  the value to return if the key is absent
+     * @return the value for the key, or {@code defaultValue}
+     */
+    public byte get(long key, byte defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = find(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    /**
+     * Looks up {@code key}, distinguishing an absent key from any value without allocating. The
+     * result is packed as by {@link BooleanIntPair#packFound(int)}, or is
+     * {@link BooleanIntPair#NOT_FOUND} if the key is absent:
+     *
+     * <pre>
+     * long found = map.lookUp(id);
+     * if (BooleanIntPair.isFound(found)) {
+     *     byte state = (byte) BooleanIntPair.valueOf(found);
+     * }
+     * </pre>
+     *
+     * @param key  the key
+     * @return the packed lookup result
+     */
+    public long lookUp(long key) {
+        if (key == 0) {
+            return hasZeroKey ? BooleanIntPair.packFound(zeroValue) : BooleanIntPair.NOT_FOUND;
+        }
+        int i = find(key);
+        return i < 0 ? BooleanIntPair.NOT_FOUND : BooleanIntPair.packFound(values[i]);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing any previous value.
+     *
+     * @param key  the key
+     * @param value  the value
+     * @return true if the key was not already present
+     * @throws IllegalStateException if the map cannot grow to hold another entry
+     */
+    public boolean put(long key, byte value) {
+        if (key == 0) {
+            zeroValue = value;
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            size++;
+            modCount++;
+            return true;
+        }
+        long[] k = keys;
+        int i = slot(key);
+        for (long cur; (cur = k[i]) != 0; i = (i + 1) & mask) {
+            if (cur == key) {
+                values[i] = value;
+                return false;
+            }
+        }
+        k[i] = key;
+        values[i] = value;
+        modCount++;
+        if (++size - (hasZeroKey ? 1 : 0) > maxFill) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Associates {@code pair.getRight()} with {@code pair.getLeft()}, replacing any previous value.
+     *
+     * @param pair  the entry to put, not null
+     * @return true if the key was not already present
+     * @throws IllegalStateException if the map cannot grow to hold another entry
+     */
+    public boolean put(LongBytePair pair) {
+        return put(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Puts every entry of a list, in order, so that later values for a repeated key win.
+     *
+     * @param entries  the {@code (key, value)} entries, not null
+     * @throws IllegalStateException if the map cannot grow to hold the entries
+     */
+    public void putAll(LongBytePairList entries) {
+        ensureCapacity(size + entries.size);
+        long[] ks = entries.lefts;
+        byte[] vs = entries.rights;
+        for (int i = 0, n = entries.size; i < n; i++) {
+            put(ks[i], vs[i]);
+        }
+    }
+
+    /**
+     * Removes the entry for {@code key}, if it is present.
+     *
+     * @param key  the key
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            modCount++;
+            return true;
+        }
+        int i = find(key);
+        if (i < 0) {
+            return false;
+        }
+        shiftBack(i);
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Empties slot {@code gap}, moving later entries of its probe sequence back so that no entry
+     * is separated from its home slot by an empty one.
+     */
+    private void shiftBack(int gap) {
+        long[] k = keys;
+        byte[] v = values;
+        for (int i = (gap + 1) & mask; ; i = (i + 1) & mask) {
+            long cur = k[i];
+            if (cur == 0) {
+                break;
+            }
+            int home = slot(cur);
+            // Move the entry if its home is not cyclically within (gap, i].
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                k[gap] = cur;
+                v[gap] = v[i];
+                gap = i;
+            }
+        }
+        k[gap] = 0;
+        v[gap] = 0;
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, (byte) 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Grows the table if necessary so that it can hold {@code expectedSize} entries without
+     * resizing.
+     *
+     * @param expectedSize  the expected number of entries
+     * @throws IllegalStateException if the map cannot grow to hold that many entries
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > maxFill) {
+            int capacity = capacityFor(expectedSize);
+            if (capacity > keys.length) {
+                rehash(capacity);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY || capacity <= 0) {
+            throw new IllegalStateException("map is full: " + size + " entries");
+        }
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        allocate(capacity);
+        long[] k = keys;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = slot(key);
+                while (k[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                k[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Passes every entry to {@code consumer}, in no particular order. The map must not be
+     * modified by the consumer.
+     *
+     * @param consumer  the consumer, not null
+     */
+    public void forEach(LongByteConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        long[] k = keys;
+        byte[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) {
+                consumer.accept(k[i], v[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over the entries of this map, in no particular order.
+     *
+     * @return a new cursor, not null
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Copies the entries into a new list sorted by key.
+     *
+     * @return the entries in ascending key order, not null
+     */
+    public LongBytePairList toSortedList() {
+        LongBytePairList list = new LongBytePairList(size);
+        long[] ks = list.lefts;
+        byte[] vs = list.rights;
+        int n = 0;
+        if (hasZeroKey) {
+            ks[n] = 0;
+            vs[n++] = zeroValue;
+        }
+        long[] k = keys;
+        byte[] v = values;
+        for (int i = 0; i < k.length; i++) {
+            if (k[i] != 0) {
+                ks[n] = k[i];
+                vs[n++] = v[i];
+            }
+        }
+        list.size = n;
+        PairSorts.sort(ks, vs, 0, n);
+        return list;
+    }
+
+    /**
+     * Returns a String representation of this map's entries in ascending key order, using the
+     * format {@code [($key,$value), ...]}.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return toSortedList().toString();
+    }
+
+    /**
+     * A cursor over the entries of a {@link LongByteHashMap}. A cursor starts before the first
+     * entry; each call to {@link #next()} moves it to the following one. The map must not be
+     * modified while a cursor is in use, except through {@link #setValue(byte)}.
+     * <p>
+     * Not #ThreadSafe#.
+     */
+    public final class Cursor {
+
+        private final int expectedModCount = modCount;
+        /** -2 before the zero key, -1 on the zero key, otherwise the current slot. */
+        private int slot = -2;
+
+        private Cursor() {}
+
+        /**
+         * Advances to the next entry.
+         *
+         * @return true if there was another entry, or false if the cursor is exhausted
+         * @throws ConcurrentModificationException if the map was structurally modified
+         */
+        public boolean next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (slot == -2) {
+                slot = -1;
+                if (hasZeroKey) {
+                    return true;
+                }
+            }
+            long[] k = keys;
+            for (int i = slot + 1; i < k.length; i++) {
+                if (k[i] != 0) {
+                    slot = i;
+                    return true;
+                }
+            }
+            slot = k.length;
+            return false;
+        }
+
+        private void checkEntry() {
+            if (slot < -1 || slot >= keys.length) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        /**
+         * Gets the key of the current entry.
+         *
+         * @return the current key
+         * @throws NoSuchElementException if the cursor is not on an entry
+         */
+        public long getKey() {
+            checkEntry();
+            return slot < 0 ? 0 : keys[slot];
+        }
+
+        /**
+         * Gets the value of the current entry.
+         *
+         * @return the current value
+         * @throws NoSuchElementException if the cursor is not on an entry
+         */
+        public byte getValue() {
+            checkEntry();
+            return slot < 0 ? zeroValue : values[slot];
+        }
+
+        /**
+         * Replaces the value of the current entry.
+         *
+         * @param value  the new value
+         * @throws NoSuchElementException if the cursor is not on an entry
+         */
+        public void setValue(byte value) {
+            checkEntry();
+            if (slot < 0) {
+                zeroValue = value;
+            } else {
+                values[slot] = value;
+            }
+        }
+
+        /**
+         * Copies the current entry into {@code into}.
+         *
+         * @param into  the pair to overwrite, not null
+         * @return {@code into}
+         * @throws NoSuchElementException if the cursor is not on an entry
+         */
+        public MutableLongBytePair get(MutableLongBytePair into) {
+            into.left = getKey();
+            into.right = getValue();
+            return into;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Accepts a {@code long} key with the right elements of a {@link LongCharPair} and a
+ * {@link LongFloatPair} that share it, such as a row produced by {@link LongKeyHashJoin}, as
+ * primitive arguments.
+ *
+ * @author Brandon Mintern
+ */
+public interface LongCharFloatConsumer {
+
+    /**
+     * Accepts a joined row.
+     *
+     * @param key  the shared left element
+     * @param left  the right element of the {@code LongCharPair}
+     * @param right  the right element of the {@code LongFloatPair}
+     */
+    void accept(long key, char left, float right);
+}
@@ -0,0 +1,92 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * A bounded interner of {@link ImmutableLongCharPair}s. Obtain one with
+ * {@link PairInterner#forLongCharPair(int)}.
+ * <p>
+ * Not #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ * @see PairInterner
+ */
+public final class LongCharPairInterner extends PairInterner {
+
+    private final long[] lefts;
+    private final char[] rights;
+    private final ImmutableLongCharPair[] pairs;
+
+    LongCharPairInterner(int capacity) {
+        super(capacity);
+        lefts = new long[stamps.length];
+        rights = new char[stamps.length];
+        pairs = new ImmutableLongCharPair[stamps.length];
+    }
+
+    /**
+     * Returns a canonical pair equal to {@code (left, right)}, allocating and caching a new one
+     * only if no equal pair is cached.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return a pair equal to {@code (left, right)}, not null
+     */
+    public ImmutableLongCharPair intern(long left, char right) {
+        int start = setStart(PairHash.hash(left, right));
+        for (int i = start; i < start + WAYS; i++) {
+            if (lefts[i] == left && rights[i] == right && pairs[i] != null) {
+                hit(i);
+                return pairs[i];
+            }
+        }
+        return store(miss(start), ImmutableLongCharPair.of(left, right));
+    }
+
+    /**
+     * Returns a canonical pair equal to {@code pair}. If no equal pair is cached and {@code pair}
+     * is immutable, {@code pair} itself is cached and returned.
+     *
+     * @param pair  the pair to intern, not null
+     * @return a pair equal to {@code pair}, not null
+     */
+    public ImmutableLongCharPair intern(LongCharPair pair) {
+        long left = pair.getLeft();
+        char right = pair.getRight();
+        int start = setStart(PairHash.hash(left, right));
+        for (int i = start; i < start + WAYS; i++) {
+            if (lefts[i] == left && rights[i] == right && pairs[i] != null) {
+                hit(i);
+                return pairs[i];
+            }
+        }
+        ImmutableLongCharPair canonical = pair instanceof ImmutableLongCharPair
+                ? (ImmutableLongCharPair) pair
+                : ImmutableLongCharPair.of(left, right);
+        return store(miss(start), canonical);
+    }
+
+    private ImmutableLongCharPair store(int slot, ImmutableLongCharPair pair) {
+        lefts[slot] = pair.left;
+        rights[slot] = pair.right;
+        pairs[slot] = pair;
+        return pair;
+    }
+
+    @Override
+    void clearPairs() {
+        Arrays.fill(pairs, null);
+    }
+}
@@ -0,0 +1,636 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sorts more {@code (long, float)} pairs than fit in memory, in the order of
+ * {@link LongFloatPair#compareTo}.
+ * <p>
+ * Pairs are appended with {@link #add(long, float)} into fixed-size chunks of parallel
+ * {@code long[]} and {@code float[]} arrays. Each full chunk is sorted in place and spilled to a
+ * temporary file as a run of 12-byte records: the left element and the bits of the right element,
+ * big-endian. {@link #sortTo(LongFloatConsumer)} then merges the runs back with a
+ * {@link LongFloatPairMerger}, in several passes if there are too many runs to read at once. If
+ * every pair fits in a single chunk, nothing is written to disk.
+ * <p>
+ * The memory budget bounds the chunks, which take 12 bytes per pair, and the read buffers of the
+ * merge. With a parallelism greater than 1, full chunks are sorted and spilled on background
+ * threads while the next chunk fills, and the budget is split between that many chunks.
+ * <p>
+ * A sorter sorts once: after {@link #sortTo(LongFloatConsumer)}, it cannot be added to. If a spill
+ * fails, its partial run file is deleted and the sorter fails too: the failure is reported once as
+ * an {@link IOException}, and the sorter then refuses further pairs or sorts. It should be
+ * {@linkplain #close() closed} to delete any temporary files left by a failed or abandoned sort.
+ * <p>
+ * Not #ThreadSafe#.
+ *
+ * @author Brandon Mintern
+ */
+public final class LongFloatPairExternalSorter implements Closeable {
+
+    /** The size of a pair in a run file. */
+    private static final int RECORD_BYTES = 12;
+    /** The number of records that each run reader or writer buffers. */
+    private static final int BUFFER_RECORDS = 8192;
+    private static final int BUFFER_BYTES = RECORD_BYTES * BUFFER_RECORDS;
+    private static final int MIN_CHUNK = 16;
+    private static final int INITIAL_CHUNK = 1024;
+    private static final int MAX_CHUNK = Integer.MAX_VALUE - 8;
+    private static final int MAX_FAN_IN = 1024;
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final Path directory;
+    private final int chunkCapacity;
+    private final int fanIn;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final BlockingQueue<Chunk> freeChunks;
+    private final List<Future<?>> spills = new ArrayList<>();
+    private final List<Path> runs = Collections.synchronizedList(new ArrayList<Path>());
+    private Chunk chunk;
+    private int allocatedChunks;
+    private long size;
+    private boolean sorted;
+    /** Whether a spill has failed, leaving some pairs unwritten. Set by the spilling thread. */
+    private volatile boolean failed;
+
+    /**
+     * Creates a sorter that uses about {@code memoryBytes} of memory, sorts on the calling thread,
+     * and spills to the default temporary-file directory.
+     *
+     * @param memoryBytes  the memory budget in bytes, positive
+     * @throws IllegalArgumentException if {@code memoryBytes} is not positive
+     */
+    public LongFloatPairExternalSorter(long memoryBytes) {
+        this(memoryBytes, 1, null);
+    }
+
+    /**
+     * Creates a sorter that uses about {@code memoryBytes} of memory and sorts up to
+     * {@code parallelism} chunks at once, spilling to temporary files in {@code directory}.
+     *
+     * @param memoryBytes  the memory budget in bytes, positive; each chunk holds at least 16 pairs
+     *         no matter how small the budget is
+     * @param parallelism  the number of chunks to hold and sort at once, positive
+     * @param directory  the directory for temporary files, or null for the default one
+     * @throws IllegalArgumentException if {@code memoryBytes} or {@code parallelism} is not
+     *         positive
+     */
+    public LongFloatPairExternalSorter(long memoryBytes, int parallelism, Path directory) {
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("memoryBytes not positive: " + memoryBytes);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism not positive: " + parallelism);
+        }
+        this.directory = directory;
+        this.parallelism = parallelism;
+        long perChunk = memoryBytes / (RECORD_BYTES * (long) parallelism);
+        chunkCapacity = (int) Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, perChunk));
+        fanIn = (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBytes / BUFFER_BYTES - 1));
+        if (parallelism == 1) {
+            executor = null;
+            freeChunks = null;
+        } else {
+            executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "LongFloatPairExternalSorter-"
+                            + THREAD_IDS.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            freeChunks = new ArrayBlockingQueue<>(parallelism);
+        }
+    }
+
+    /**
+     * A buffer of pairs, sorted and spilled as one run. The first chunk starts small and grows to
+     * the full chunk capacity, so that sorting a few pairs does not allocate the whole budget.
+     */
+    private static final class Chunk {
+        long[] lefts;
+        float[] rights;
+        int size;
+
+        Chunk(int capacity) {
+            lefts = new long[capacity];
+            rights = new float[capacity];
+        }
+
+        void grow(int maxCapacity) {
+            int capacity = (int) Math.min(maxCapacity, 2L * lefts.length);
+            lefts = Arrays.copyOf(lefts, capacity);
+            rights = Arrays.copyOf(rights, capacity);
+        }
+    }
+
+    /**
+     * Returns the number of pairs added.
+     *
+     * @return the number of pairs
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of runs that have been spilled to disk so far.
+     *
+     * @return the number of temporary run files
+     */
+    public int spilledRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Adds a pair to be sorted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @throws IOException if spilling a full chunk fails
+     * @throws IllegalStateException if the pairs have already been sorted, or if an earlier spill
+     *         failed
+     */
+    public void add(long left, float right) throws IOException {
+        Chunk c = chunk;
+        if (c == null || c.size == c.lefts.length) {
+            c = nextChunk();
+        }
+        c.lefts[c.size] = left;
+        c.rights[c.size++] = right;
+        size++;
+    }
+
+    /**
+     * Adds a pair to be sorted.
+     *
+     * @param pair  the pair, not null
+     * @throws IOException if spilling a full chunk fails
+     * @throws IllegalStateException if the pairs have already been sorted, or if an earlier spill
+     *         failed
+     */
+    public void add(LongFloatPair pair) throws IOException {
+        add(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Adds all the pairs of a list to be sorted.
+     *
+     * @param pairs  the pairs, not null
+     * @throws IOException if spilling a full chunk fails
+     * @throws IllegalStateException if the pairs have already been sorted, or if an earlier spill
+     *         failed
+     */
+    public void addAll(LongFloatPairList pairs) throws IOException {
+        int i = 0;
+        while (i < pairs.size) {
+            Chunk c = chunk;
+            if (c == null || c.size == c.lefts.length) {
+                c = nextChunk();
+            }
+            int n = Math.min(pairs.size - i, c.lefts.length - c.size);
+            System.arraycopy(pairs.lefts, i, c.lefts, c.size, n);
+            System.arraycopy(pairs.rights, i, c.rights, c.size, n);
+            c.size += n;
+            size += n;
+            i += n;
+        }
+    }
+
+    /**
+     * Grows or spills the current chunk, which is full, and returns a chunk with room for more
+     * pairs.
+     */
+    private Chunk nextChunk() throws IOException {
+        checkUsable();
+        Chunk c = chunk;
+        if (c == null) {
+            allocatedChunks = 1;
+            return chunk = new Chunk(Math.min(chunkCapacity, INITIAL_CHUNK));
+        }
+        if (c.lefts.length < chunkCapacity) {
+            c.grow(chunkCapacity);
+            return c;
+        }
+        if (executor == null) {
+            spill(c);
+            return c;
+        }
+        submit(c);
+        checkSpills(false);
+        // Allocate up to parallelism chunks, then wait for a spilled one to be freed.
+        c = freeChunks.poll();
+        if (c == null && allocatedChunks < parallelism) {
+            allocatedChunks++;
+            c = new Chunk(chunkCapacity);
+        }
+        while (c == null) {
+            try {
+                c = freeChunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting to spill");
+            }
+            checkSpills(false);
+        }
+        return chunk = c;
+    }
+
+    private void submit(final Chunk c) {
+        chunk = null;
+        spills.add(executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                try {
+                    spill(c);
+                } finally {
+                    freeChunks.add(c);
+                }
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if the pairs have been sorted or a spill has failed.
+     * A background spill failure that has not been reported yet is rethrown instead.
+     */
+    private void checkUsable() throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("already sorted");
+        }
+        if (failed) {
+            checkSpills(true);
+            throw new IllegalStateException("an earlier spill failed");
+        }
+    }
+
+    /**
+     * Rethrows the failure of any finished spill, waiting for all spills if {@code all}, and
+     * forgets the finished spills. Once a spill has failed, this waits for all of them and rethrows
+     * the first failure with any others suppressed, so that each failure is reported only once.
+     */
+    private void checkSpills(boolean all) throws IOException {
+        all |= failed;
+        Throwable failure = null;
+        for (int i = spills.size() - 1; i >= 0; i--) {
+            Future<?> f = spills.get(i);
+            if (!all && !f.isDone()) {
+                continue;
+            }
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting to spill");
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+            spills.remove(i);
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw (Error) failure;
+        }
+    }
+
+    /**
+     * Sorts a chunk and writes it to a new run file, leaving the chunk empty. If writing fails,
+     * the partial run file is deleted and the sorter is marked failed.
+     */
+    private void spill(Chunk c) throws IOException {
+        PairSorts.sort(c.lefts, c.rights, 0, c.size);
+        Path run = null;
+        try {
+            run = newRunFile();
+            try (RunWriter out = new RunWriter(Files.newOutputStream(run))) {
+                for (int i = 0; i < c.size; i++) {
+                    out.accept(c.lefts[i], c.rights[i]);
+                }
+            } catch (StreamFailure e) {
+                throw e.getCause();
+            }
+        } catch (Throwable e) {
+            failed = true;
+            if (run != null) {
+                runs.remove(run);
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException d) {
+                    e.addSuppressed(d);
+                }
+            }
+            throw e;
+        }
+        c.size = 0;
+    }
+
+    private Path newRunFile() throws IOException {
+        Path run = directory == null
+                ? Files.createTempFile("pairsort", ".run")
+                : Files.createTempFile(directory, "pairsort", ".run");
+        runs.add(run);
+        return run;
+    }
+
+    /**
+     * Writes pairs to a run file as 12-byte records through a buffer.
+     */
+    private static final class RunWriter implements LongFloatConsumer, Closeable {
+        private final OutputStream out;
+        private final byte[] buf = new byte[BUFFER_BYTES];
+        private int off;
+
+        RunWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(long left, float right) {
+            if (off == buf.length) {
+                flush();
+            }
+            PairArrays.putLong(buf, off, left);
+            PairArrays.putInt(buf, off + 8, Float.floatToRawIntBits(right));
+            off += RECORD_BYTES;
+        }
+
+        private void flush() {
+            try {
+                out.write(buf, 0, off);
+            } catch (IOException e) {
+                throw new StreamFailure(e);
+            }
+            off = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } catch (StreamFailure e) {
+                out.close();
+                throw e.getCause();
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * Sorts all the pairs added and passes them to {@code consumer} in ascending order.
+     *
+     * @param consumer  the consumer of the sorted pairs, not null
+     * @throws IOException if spilling or merging fails
+     * @throws IllegalStateException if the pairs have already been sorted, or if an earlier spill
+     *         failed
+     */
+    public void sortTo(LongFloatConsumer consumer) throws IOException {
+        checkUsable();
+        sorted = true;
+        Chunk c = chunk;
+        chunk = null;
+        try {
+            if (runs.isEmpty() && spills.isEmpty()) {
+                // Everything fit in one chunk, so there is nothing to merge.
+                if (c != null) {
+                    PairSorts.sort(c.lefts, c.rights, 0, c.size);
+                    for (int i = 0; i < c.size; i++) {
+                        consumer.accept(c.lefts[i], c.rights[i]);
+                    }
+                }
+                return;
+            }
+            if (c != null && c.size > 0) {
+                spill(c);
+            }
+            c = null;
+            if (executor != null) {
+                checkSpills(true);
+                executor.shutdown();
+                freeChunks.clear();
+            }
+            merge(consumer);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Sorts all the pairs added and appends them to {@code sink} in ascending order.
+     *
+     * @param sink  the list to append to, not null
+     * @throws IOException if spilling or merging fails
+     * @throws IllegalStateException if the pairs have already been sorted, if an earlier spill
+     *         failed, or if there are more pairs than a list can hold
+     */
+    public void sortTo(final LongFloatPairList sink) throws IOException {
+        if (sink.size + size > MAX_CHUNK) {
+            throw new IllegalStateException("too many pairs for a list: " + size);
+        }
+        sink.ensureCapacity((int) (sink.size + size));
+        sortTo(new LongFloatConsumer() {
+            @Override
+            public void accept(long left, float right) {
+                sink.add(left, right);
+            }
+        });
+    }
+
+    /**
+     * Merges the runs in passes of at most {@link #fanIn} runs until one pass can feed the
+     * consumer directly.
+     */
+    private void merge(LongFloatConsumer consumer) throws IOException {
+        while (runs.size() > fanIn) {
+            List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+            Path merged = newRunFile();
+            try (RunWriter out = new RunWriter(Files.newOutputStream(merged))) {
+                mergeRuns(group, out);
+            }
+            for (Path run : group) {
+                runs.remove(run);
+                Files.delete(run);
+            }
+        }
+        mergeRuns(new ArrayList<>(runs), consumer);
+    }
+
+    /**
+     * Merges the runs of {@code group} into {@code consumer}.
+     */
+    private static void mergeRuns(List<Path> group, LongFloatConsumer consumer)
+            throws IOException {
+        List<RunReader> readers = new ArrayList<>(group.size());
+        try {
+            for (Path run : group) {
+                readers.add(new RunReader(Files.newInputStream(run)));
+            }
+            LongFloatPairMerger merger = new LongFloatPairMerger(readers);
+            try {
+                merger.mergeTo(consumer);
+            } catch (StreamFailure e) {
+                throw e.getCause();
+            }
+        } finally {
+            IOException failure = null;
+            for (RunReader reader : readers) {
+                try {
+                    reader.in.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Carries an {@link IOException} out of {@link LongFloatPairSource#next} or
+     * {@link LongFloatConsumer#accept}, which cannot throw one.
+     */
+    private static final class StreamFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StreamFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * Reads the 12-byte records of a run file through a buffer.
+     */
+    private static final class RunReader implements LongFloatPairSource {
+        final InputStream in;
+        private final byte[] buf = new byte[BUFFER_BYTES];
+        private int off;
+        private int end;
+
+        RunReader(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean next(MutableLongFloatPair into) {
+            if (off == end && !fill()) {
+                return false;
+            }
+            into.left = PairArrays.getLong(buf, off);
+            into.right = Float.intBitsToFloat(PairArrays.getInt(buf, off + 8));
+            off += RECORD_BYTES;
+            return true;
+        }
+
+        private boolean fill() {
+            try {
+                off = 0;
+                end = 0;
+                int n;
+                while (end < buf.length && (n = in.read(buf, end, buf.length - end)) > 0) {
+                    end += n;
+                }
+            } catch (IOException e) {
+                throw new StreamFailure(e);
+            }
+            if (end % RECORD_BYTES != 0) {
+                throw new StreamFailure(new IOException("truncated run file"));
+            }
+            return end > 0;
+        }
+    }
+
+    /**
+     * Stops any background sorting, discards the pairs, and deletes the temporary files.
+     *
+     * @throws IOException if a temporary file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        sorted = true;
+        chunk = null;
+        if (executor != null) {
+            executor.shutdownNow();
+            freeChunks.clear();
+            // Let interrupted spills finish creating their files, so that they are deleted too.
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        IOException failure = null;
+        synchronized (runs) {
+            for (Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            runs.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns a String describing the sorter's progress.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "LongFloatPairExternalSorter[size=" + size + ", runs=" + runs.size()
+                + ", chunkCapacity=" + chunkCapacity + ", parallelism=" + parallelism + "]";
+    }
+}
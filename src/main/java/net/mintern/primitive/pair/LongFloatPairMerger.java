@@ -0,0 +1,365 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Merges any number of sorted runs of {@code (long, float)} pairs, such as per-thread or
+ * per-file results, into a single sorted stream. Runs must be sorted as by
+ * {@link LongFloatPair#compareTo}, and so is the merged output.
+ * <p>
+ * The runs are merged with a loser tree, which finds each next pair with one comparison per level
+ * of a balanced tree over the runs, about log2(k) comparisons for k runs, and allocates nothing
+ * per pair. Equal pairs are emitted in the order of the runs that hold them, so the merge is
+ * stable. A merger can optionally drop {@linkplain #distinct() duplicate pairs} or
+ * {@linkplain #combining(Combiner) combine} the right elements of pairs with equal left elements,
+ * as in summing per-run counts:
+ *
+ * <pre>
+ * LongFloatPairList merged = new LongFloatPairList();
+ * new LongFloatPairMerger(runs).combining(new LongFloatPairMerger.Combiner() {
+ *     public float combine(float weight1, float weight2) {
+ *         return weight1 + weight2;
+ *     }
+ * }).mergeTo(merged);
+ * </pre>
+ *
+ * A merger reads each run once through a {@link LongFloatPairSource}, which can be {@linkplain
+ * #source(LongFloatPairList) a list}, {@linkplain #source(Iterator) an iterator}, or any other
+ * stream of pairs. Mergers are sources themselves, so they can be nested.
+ * <p>
+ * Not #ThreadSafe#.
+ *
+ * @author Brandon Mintern
+ */
+public final class LongFloatPairMerger implements LongFloatPairSource {
+
+    /**
+     * Combines the right elements of two pairs that have equal left elements.
+     */
+    public interface Combiner {
+
+        /**
+         * Combines two right elements.
+         *
+         * @param right1  the right element combined so far
+         * @param right2  the right element of the next pair with the same left element
+         * @return the combined right element
+         */
+        float combine(float right1, float right2);
+    }
+
+    /**
+     * Returns a source that reads the pairs of a list in order. The list must not be modified
+     * while the source is in use.
+     *
+     * @param list  the sorted pairs, not null
+     * @return a new source, not null
+     */
+    public static LongFloatPairSource source(final LongFloatPairList list) {
+        return new LongFloatPairSource() {
+            private int index;
+
+            @Override
+            public boolean next(MutableLongFloatPair into) {
+                if (index >= list.size) {
+                    return false;
+                }
+                into.left = list.lefts[index];
+                into.right = list.rights[index++];
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a source that reads the pairs of an iterator.
+     *
+     * @param iterator  the sorted pairs, not null
+     * @return a new source, not null
+     */
+    public static LongFloatPairSource source(final Iterator<? extends LongFloatPair> iterator) {
+        return new LongFloatPairSource() {
+            @Override
+            public boolean next(MutableLongFloatPair into) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                LongFloatPair pair = iterator.next();
+                into.left = pair.getLeft();
+                into.right = pair.getRight();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Merges sorted lists into a new sorted list.
+     *
+     * @param runs  the sorted lists to merge, not null
+     * @return a new list of all the pairs in sorted order, not null
+     */
+    public static LongFloatPairList merge(LongFloatPairList... runs) {
+        int size = 0;
+        LongFloatPairSource[] sources = new LongFloatPairSource[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            size += runs[i].size;
+            sources[i] = source(runs[i]);
+        }
+        LongFloatPairList merged = new LongFloatPairList(size);
+        new LongFloatPairMerger(sources).mergeTo(merged);
+        return merged;
+    }
+
+    private final LongFloatPairSource[] sources;
+    /** The next pair of each run, valid while the run is not exhausted. */
+    private final long[] heads;
+    private final float[] headRights;
+    private final boolean[] exhausted;
+    /**
+     * The loser tree: {@code tree[0]} is the run holding the least head, and each other node holds
+     * the run that lost the match played there. Run {@code i} enters the tree at node
+     * {@code (i + k) / 2}.
+     */
+    private final int[] tree;
+    private final MutableLongFloatPair scratch = new MutableLongFloatPair();
+    private boolean distinct;
+    private Combiner combiner;
+    private boolean started;
+
+    /**
+     * Creates a merger of the given runs.
+     *
+     * @param sources  the sorted runs to merge, not null and without null elements
+     */
+    public LongFloatPairMerger(LongFloatPairSource... sources) {
+        int k = sources.length;
+        this.sources = sources.clone();
+        for (LongFloatPairSource source : this.sources) {
+            if (source == null) {
+                throw new NullPointerException("null source");
+            }
+        }
+        heads = new long[k];
+        headRights = new float[k];
+        exhausted = new boolean[k];
+        tree = new int[Math.max(1, k)];
+    }
+
+    /**
+     * Creates a merger of the given runs.
+     *
+     * @param sources  the sorted runs to merge, not null and without null elements
+     */
+    public LongFloatPairMerger(List<? extends LongFloatPairSource> sources) {
+        this(sources.toArray(new LongFloatPairSource[sources.size()]));
+    }
+
+    /**
+     * Creates a merger of the given sorted lists.
+     *
+     * @param runs  the sorted lists to merge, not null and without null elements
+     */
+    public LongFloatPairMerger(LongFloatPairList... runs) {
+        this(sourcesOf(runs));
+    }
+
+    private static LongFloatPairSource[] sourcesOf(LongFloatPairList[] runs) {
+        LongFloatPairSource[] sources = new LongFloatPairSource[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            sources[i] = source(runs[i]);
+        }
+        return sources;
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("merge already started");
+        }
+    }
+
+    /**
+     * Makes this merger emit only the first of each group of equal pairs.
+     *
+     * @return this merger, not null
+     * @throws IllegalStateException if merging has already started
+     */
+    public LongFloatPairMerger distinct() {
+        checkNotStarted();
+        distinct = true;
+        combiner = null;
+        return this;
+    }
+
+    /**
+     * Makes this merger emit one pair for each distinct left element, whose right element combines
+     * the right elements of all the pairs with that left element, in order.
+     *
+     * @param combiner  the function that combines right elements, not null
+     * @return this merger, not null
+     * @throws IllegalStateException if merging has already started
+     */
+    public LongFloatPairMerger combining(Combiner combiner) {
+        if (combiner == null) {
+            throw new NullPointerException("null combiner");
+        }
+        checkNotStarted();
+        this.combiner = combiner;
+        distinct = false;
+        return this;
+    }
+
+    private void start() {
+        started = true;
+        int k = sources.length;
+        if (k == 0) {
+            return;
+        }
+        // Seed the tree with a virtual run, k, that beats every real one; adjusting each real run
+        // then displaces all of the virtual entries.
+        Arrays.fill(tree, k);
+        for (int i = k - 1; i >= 0; i--) {
+            fetch(i, false);
+            adjust(i);
+        }
+    }
+
+    /**
+     * Reads the next head of run {@code i}, checking that the run is sorted if {@code check}.
+     */
+    private void fetch(int i, boolean check) {
+        MutableLongFloatPair p = scratch;
+        if (!sources[i].next(p)) {
+            exhausted[i] = true;
+            return;
+        }
+        if (check && LongFloatPair.compare(p.left, p.right, heads[i], headRights[i]) < 0) {
+            throw new IllegalStateException("source " + i + " is not sorted: " + p
+                    + " follows (" + heads[i] + "," + headRights[i] + ")");
+        }
+        heads[i] = p.left;
+        headRights[i] = p.right;
+    }
+
+    /**
+     * Returns true if run {@code a} should be emitted before run {@code b}.
+     */
+    private boolean beats(int a, int b) {
+        int k = sources.length;
+        if (a == k || b == k) {
+            return a == k;
+        }
+        if (exhausted[a] || exhausted[b]) {
+            return !exhausted[a] || (exhausted[b] && a < b);
+        }
+        int cmp = LongFloatPair.compare(heads[a], headRights[a], heads[b], headRights[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    /**
+     * Replays the matches from run {@code i}'s leaf to the root after its head has changed.
+     */
+    private void adjust(int i) {
+        int[] t = tree;
+        int winner = i;
+        for (int node = (i + sources.length) >>> 1; node > 0; node >>>= 1) {
+            if (beats(t[node], winner)) {
+                int loser = winner;
+                winner = t[node];
+                t[node] = loser;
+            }
+        }
+        t[0] = winner;
+    }
+
+    /**
+     * Copies the next merged pair into {@code into}.
+     *
+     * @param into  the pair to overwrite if there is another pair, not null
+     * @return true if there was another pair, or false if all runs are exhausted
+     * @throws IllegalStateException if a run is found not to be sorted
+     */
+    @Override
+    public boolean next(MutableLongFloatPair into) {
+        if (!started) {
+            start();
+        }
+        if (sources.length == 0) {
+            return false;
+        }
+        int w = tree[0];
+        if (exhausted[w]) {
+            return false;
+        }
+        long left = heads[w];
+        float right = headRights[w];
+        advance(w);
+        if (combiner != null) {
+            for (w = tree[0]; !exhausted[w]
+                    && left == heads[w]; w = tree[0]) {
+                right = combiner.combine(right, headRights[w]);
+                advance(w);
+            }
+        } else if (distinct) {
+            for (w = tree[0]; !exhausted[w]
+                    && LongFloatPair.equals(left, right, heads[w], headRights[w]); w = tree[0]) {
+                advance(w);
+            }
+        }
+        into.left = left;
+        into.right = right;
+        return true;
+    }
+
+    private void advance(int w) {
+        fetch(w, true);
+        adjust(w);
+    }
+
+    /**
+     * Appends all the remaining merged pairs to a list.
+     *
+     * @param sink  the list to append to, not null
+     * @return the number of pairs appended
+     * @throws IllegalStateException if a run is found not to be sorted
+     */
+    public int mergeTo(LongFloatPairList sink) {
+        MutableLongFloatPair p = new MutableLongFloatPair();
+        int n = 0;
+        while (next(p)) {
+            sink.add(p.left, p.right);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Passes all the remaining merged pairs to a consumer.
+     *
+     * @param consumer  the consumer of the pairs, not null
+     * @return the number of pairs passed
+     * @throws IllegalStateException if a run is found not to be sorted
+     */
+    public int mergeTo(LongFloatConsumer consumer) {
+        MutableLongFloatPair p = new MutableLongFloatPair();
+        int n = 0;
+        while (next(p)) {
+            consumer.accept(p.left, p.right);
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * Equi-joins pair lists on their {@code long} left elements, as in joining {@code (id, category)}
+ * {@link LongCharPair}s with {@code (id, price)} {@link LongFloatPair}s by id.
+ * <p>
+ * A join builds a chained hash table over the row indices of the smaller list and probes it with
+ * every row of the larger one, so it takes time proportional to the sizes of the lists plus the
+ * number of matches, and allocates two {@code int}s per row of the smaller list. Every pair of rows
+ * with equal keys is emitted, so a key that appears m times in one list and n times in the other
+ * yields m &times; n rows. Rows are emitted to a {@link LongCharFloatConsumer}, or appended to two
+ * struct-of-arrays lists that share their left elements: the {@code i}th rows of both lists form
+ * the {@code i}th joined row.
+ * <p>
+ * {@link #join} emits rows in the order of the larger list's rows, and the matches of each row in
+ * the order of the smaller list. For large lists, whose hash table would not fit in the CPU caches,
+ * {@link #partitionedJoin} first partitions both lists by a hash of their keys and then joins each
+ * pair of partitions with a table small enough to stay in cache, at the cost of copying both lists
+ * and emitting rows in no particular order.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Brandon Mintern
+ */
+public final class LongKeyHashJoin {
+
+    /** The number of rows of the smaller list that each partition should hold. */
+    private static final int PARTITION_ROWS = 1 << 13;
+    private static final int MAX_PARTITION_BITS = 14;
+
+    private LongKeyHashJoin() {}
+
+    /**
+     * Joins two lists on their left elements, passing each joined row to {@code out}.
+     *
+     * @param charPairs  the {@code (key, char)} pairs, not null
+     * @param floatPairs  the {@code (key, float)} pairs, not null
+     * @param out  the consumer of the joined rows, not null
+     * @return the number of joined rows
+     */
+    public static long join(LongCharPairList charPairs, LongFloatPairList floatPairs,
+            LongCharFloatConsumer out) {
+        return joinRange(charPairs.lefts, charPairs.rights, 0, charPairs.size,
+                floatPairs.lefts, floatPairs.rights, 0, floatPairs.size, out);
+    }
+
+    /**
+     * Joins two lists on their left elements, appending each joined row to {@code outCharPairs}
+     * and {@code outFloatPairs}.
+     *
+     * @param charPairs  the {@code (key, char)} pairs, not null
+     * @param floatPairs  the {@code (key, float)} pairs, not null
+     * @param outCharPairs  the list to append the key and {@code char} of each row to, not null
+     * @param outFloatPairs  the list to append the key and {@code float} of each row to, not null
+     * @return the number of joined rows
+     */
+    public static long join(LongCharPairList charPairs, LongFloatPairList floatPairs,
+            LongCharPairList outCharPairs, LongFloatPairList outFloatPairs) {
+        return join(charPairs, floatPairs, appender(outCharPairs, outFloatPairs));
+    }
+
+    /**
+     * Joins two lists on their left elements after partitioning them by key, passing each joined
+     * row to {@code out} in no particular order. Lists whose smaller side has fewer than a few
+     * thousand rows are joined as by {@link #join(LongCharPairList, LongFloatPairList,
+     * LongCharFloatConsumer) join}.
+     *
+     * @param charPairs  the {@code (key, char)} pairs, not null
+     * @param floatPairs  the {@code (key, float)} pairs, not null
+     * @param out  the consumer of the joined rows, not null
+     * @return the number of joined rows
+     */
+    public static long partitionedJoin(LongCharPairList charPairs, LongFloatPairList floatPairs,
+            LongCharFloatConsumer out) {
+        int smaller = Math.min(charPairs.size, floatPairs.size);
+        int bits = 0;
+        while (bits < MAX_PARTITION_BITS && (long) PARTITION_ROWS << bits < smaller) {
+            bits++;
+        }
+        if (bits == 0) {
+            return join(charPairs, floatPairs, out);
+        }
+        int partitions = 1 << bits;
+        int shift = 64 - bits;
+        int[] charBounds = new int[partitions + 1];
+        long[] charKeys = new long[charPairs.size];
+        char[] charValues = new char[charPairs.size];
+        partition(charPairs.lefts, charPairs.size, shift, charBounds);
+        for (int i = 0; i < charPairs.size; i++) {
+            long key = charPairs.lefts[i];
+            int j = charBounds[(int) (PairHash.mix(key) >>> shift) + 1]++;
+            charKeys[j] = key;
+            charValues[j] = charPairs.rights[i];
+        }
+        int[] floatBounds = new int[partitions + 1];
+        long[] floatKeys = new long[floatPairs.size];
+        float[] floatValues = new float[floatPairs.size];
+        partition(floatPairs.lefts, floatPairs.size, shift, floatBounds);
+        for (int i = 0; i < floatPairs.size; i++) {
+            long key = floatPairs.lefts[i];
+            int j = floatBounds[(int) (PairHash.mix(key) >>> shift) + 1]++;
+            floatKeys[j] = key;
+            floatValues[j] = floatPairs.rights[i];
+        }
+        // Each scatter advanced bounds[q + 1] from the start of partition q to its end.
+        long count = 0;
+        for (int q = 0; q < partitions; q++) {
+            count += joinRange(charKeys, charValues, charBounds[q], charBounds[q + 1],
+                    floatKeys, floatValues, floatBounds[q], floatBounds[q + 1], out);
+        }
+        return count;
+    }
+
+    /**
+     * Joins two lists on their left elements after partitioning them by key, appending each
+     * joined row to {@code outCharPairs} and {@code outFloatPairs} in no particular order.
+     *
+     * @param charPairs  the {@code (key, char)} pairs, not null
+     * @param floatPairs  the {@code (key, float)} pairs, not null
+     * @param outCharPairs  the list to append the key and {@code char} of each row to, not null
+     * @param outFloatPairs  the list to append the key and {@code float} of each row to, not null
+     * @return the number of joined rows
+     */
+    public static long partitionedJoin(LongCharPairList charPairs, LongFloatPairList floatPairs,
+            LongCharPairList outCharPairs, LongFloatPairList outFloatPairs) {
+        return partitionedJoin(charPairs, floatPairs, appender(outCharPairs, outFloatPairs));
+    }
+
+    private static LongCharFloatConsumer appender(final LongCharPairList outCharPairs,
+            final LongFloatPairList outFloatPairs) {
+        return new LongCharFloatConsumer() {
+            @Override
+            public void accept(long key, char left, float right) {
+                outCharPairs.add(key, left);
+                outFloatPairs.add(key, right);
+            }
+        };
+    }
+
+    /**
+     * Sets {@code bounds[q + 1]} to the index where partition {@code q} starts, ready for a
+     * scatter that advances it to where the partition ends.
+     */
+    private static void partition(long[] keys, int size, int shift, int[] bounds) {
+        for (int i = 0; i < size; i++) {
+            bounds[(int) (PairHash.mix(keys[i]) >>> shift) + 1]++;
+        }
+        // Shift the exclusive prefix sums up by one slot.
+        int start = 0;
+        for (int q = 1; q < bounds.length; q++) {
+            int count = bounds[q];
+            bounds[q] = start;
+            start += count;
+        }
+    }
+
+    /**
+     * Joins the {@code char} rows {@code [cf, ct)} with the {@code float} rows {@code [ff, ft)},
+     * building on the smaller range. Tables index with the low bits of the key hashes, since
+     * partitions are chosen by the high bits.
+     */
+    private static long joinRange(long[] charKeys, char[] charValues, int cf, int ct,
+            long[] floatKeys, float[] floatValues, int ff, int ft, LongCharFloatConsumer out) {
+        if (cf == ct || ff == ft) {
+            return 0;
+        }
+        long count = 0;
+        if (ct - cf <= ft - ff) {
+            Table t = new Table(charKeys, cf, ct);
+            for (int j = ff; j < ft; j++) {
+                long key = floatKeys[j];
+                for (int e = t.first(key); e >= 0; e = t.next[e]) {
+                    if (charKeys[cf + e] == key) {
+                        out.accept(key, charValues[cf + e], floatValues[j]);
+                        count++;
+                    }
+                }
+            }
+        } else {
+            Table t = new Table(floatKeys, ff, ft);
+            for (int j = cf; j < ct; j++) {
+                long key = charKeys[j];
+                for (int e = t.first(key); e >= 0; e = t.next[e]) {
+                    if (floatKeys[ff + e] == key) {
+                        out.accept(key, charValues[j], floatValues[ff + e]);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A chained hash table over the offsets of a range of keys.
+     */
+    private static final class Table {
+        /** The first offset in each bucket, or -1. */
+        final int[] heads;
+        /** The next offset in the same bucket as each offset, or -1. */
+        final int[] next;
+        final int mask;
+
+        Table(long[] keys, int from, int to) {
+            int n = to - from;
+            int capacity = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            heads = new int[capacity];
+            Arrays.fill(heads, -1);
+            next = new int[n];
+            mask = capacity - 1;
+            // Insert in reverse, so that each chain lists its offsets in ascending order.
+            for (int e = n - 1; e >= 0; e--) {
+                int b = (int) PairHash.mix(keys[from + e]) & mask;
+                next[e] = heads[b];
+                heads[b] = e;
+            }
+        }
+
+        int first(long key) {
+            return heads[(int) PairHash.mix(key) & mask];
+        }
+    }
+}
@@ -33,6 +33,7 @@ public class MutableBooleanIntPair extends BooleanIntPair {
 
     public boolean left;
     public int right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code boolean} and {@code int} values.
@@ -89,8 +90,84 @@ public class MutableBooleanIntPair extends BooleanIntPair {
         this.right = right;
     }
 
+    /**
+     * Sets this pair to {@code (true, value)}, for use as an out-parameter that reports a found
+     * value without allocating:
+     *
+     * <pre>
+     * boolean lookup(long key, MutableBooleanIntPair out) {
+     *     ...
+     *     return found ? out.setFound(value) : out.setNotFound();
+     * }
+     * </pre>
+     *
+     * @param value  the new value of the right element
+     * @return true
+     */
+    public boolean setFound(int value) {
+        this.left = true;
+        this.right = value;
+        return true;
+    }
+
+    /**
+     * Sets this pair to {@code (false, 0)}.
+     *
+     * @return false
+     * @see #setFound(int)
+     */
+    public boolean setNotFound() {
+        this.left = false;
+        this.right = 0;
+        return false;
+    }
+
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Boolean, Integer> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Boolean, Integer> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableBooleanIntPair pair;
+
+        BoxedView(MutableBooleanIntPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Boolean getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Boolean left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Integer getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Integer right) {
+            pair.setRight(right);
+        }
     }
 }
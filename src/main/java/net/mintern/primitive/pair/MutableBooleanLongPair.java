@@ -33,6 +33,7 @@ public class MutableBooleanLongPair extends BooleanLongPair {
 
     public boolean left;
     public long right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code boolean} and {@code long} values.
@@ -89,8 +90,84 @@ public class MutableBooleanLongPair extends BooleanLongPair {
         this.right = right;
     }
 
+    /**
+     * Sets this pair to {@code (true, value)}, for use as an out-parameter that reports a found
+     * value without allocating:
+     *
+     * <pre>
+     * boolean lookup(long key, MutableBooleanLongPair out) {
+     *     ...
+     *     return found ? out.setFound(value) : out.setNotFound();
+     * }
+     * </pre>
+     *
+     * @param value  the new value of the right element
+     * @return true
+     */
+    public boolean setFound(long value) {
+        this.left = true;
+        this.right = value;
+        return true;
+    }
+
+    /**
+     * Sets this pair to {@code (false, 0)}.
+     *
+     * @return false
+     * @see #setFound(long)
+     */
+    public boolean setNotFound() {
+        this.left = false;
+        this.right = 0;
+        return false;
+    }
+
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Boolean, Long> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Boolean, Long> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableBooleanLongPair pair;
+
+        BoxedView(MutableBooleanLongPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Boolean getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Boolean left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Long getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Long right) {
+            pair.setRight(right);
+        }
     }
 }
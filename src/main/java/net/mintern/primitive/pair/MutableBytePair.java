@@ -32,6 +32,7 @@ public class MutableBytePair extends BytePair {
 
     public byte left;
     public byte right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code byte} values.
@@ -88,8 +89,52 @@ public class MutableBytePair extends BytePair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Byte, Byte> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Byte, Byte> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableBytePair pair;
+
+        BoxedView(MutableBytePair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Byte getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Byte left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Byte getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Byte right) {
+            pair.setRight(right);
+        }
     }
 }
@@ -33,6 +33,7 @@ public class MutableCharBooleanPair extends CharBooleanPair {
 
     public char left;
     public boolean right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code char} and {@code boolean} values.
@@ -89,8 +90,52 @@ public class MutableCharBooleanPair extends CharBooleanPair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Character, Boolean> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Character, Boolean> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableCharBooleanPair pair;
+
+        BoxedView(MutableCharBooleanPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Character getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Character left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Boolean getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Boolean right) {
+            pair.setRight(right);
+        }
     }
 }
@@ -32,6 +32,7 @@ public class MutableCharLongPair extends CharLongPair {
 
     public char left;
     public long right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code char} and {@code long} values.
@@ -88,8 +89,52 @@ public class MutableCharLongPair extends CharLongPair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Character, Long> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Character, Long> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableCharLongPair pair;
+
+        BoxedView(MutableCharLongPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Character getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Character left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Long getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Long right) {
+            pair.setRight(right);
+        }
     }
 }
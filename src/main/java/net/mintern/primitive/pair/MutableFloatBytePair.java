@@ -33,6 +33,7 @@ public class MutableFloatBytePair extends FloatBytePair {
 
     public float left;
     public byte right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code float} and {@code byte} values.
@@ -89,8 +90,52 @@ public class MutableFloatBytePair extends FloatBytePair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Float, Byte> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Float, Byte> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableFloatBytePair pair;
+
+        BoxedView(MutableFloatBytePair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Float getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Float left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Byte getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Byte right) {
+            pair.setRight(right);
+        }
     }
 }
@@ -32,6 +32,7 @@ public class MutableFloatPair extends FloatPair {
 
     public float left;
     public float right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code float} values.
@@ -88,8 +89,52 @@ public class MutableFloatPair extends FloatPair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Float, Float> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Float, Float> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableFloatPair pair;
+
+        BoxedView(MutableFloatPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Float getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Float left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Float getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Float right) {
+            pair.setRight(right);
+        }
     }
 }
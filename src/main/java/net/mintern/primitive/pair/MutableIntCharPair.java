@@ -33,6 +33,7 @@ public class MutableIntCharPair extends IntCharPair {
 
     public int left;
     public char right;
+    private transient BoxedView boxed;
 
     /**
      * Obtains a mutable pair of the given {@code int} and {@code char} values.
@@ -89,8 +90,52 @@ public class MutableIntCharPair extends IntCharPair {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<Integer, Character> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView b = boxed;
+        if (b == null) {
+            b = new BoxedView(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView extends MutablePair<Integer, Character> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableIntCharPair pair;
+
+        BoxedView(MutableIntCharPair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public Integer getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(Integer left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Character getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Character right) {
+            pair.setRight(right);
+        }
     }
 }
@@ -33,6 +33,7 @@ public class MutableObjBooleanPair<L> extends ObjBooleanPair<L> {
 
     public L left;
     public boolean right;
+    private transient BoxedView<L> boxed;
 
     /**
      * Obtains a mutable pair of the given {@code Object} and {@code boolean} values.
@@ -90,8 +91,52 @@ public class MutableObjBooleanPair<L> extends ObjBooleanPair<L> {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null right element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<L, Boolean> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView<L> b = boxed;
+        if (b == null) {
+            b = new BoxedView<>(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView<L> extends MutablePair<L, Boolean> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableObjBooleanPair<L> pair;
+
+        BoxedView(MutableObjBooleanPair<L> pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public L getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(L left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Boolean getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Boolean right) {
+            pair.setRight(right);
+        }
     }
 }
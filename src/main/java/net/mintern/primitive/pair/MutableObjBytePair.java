@@ -33,6 +33,7 @@ public class MutableObjBytePair<L> extends ObjBytePair<L> {
 
     public L left;
     public byte right;
+    private transient BoxedView<L> boxed;
 
     /**
      * Obtains a mutable pair of the given {@code Object} and {@code byte} values.
@@ -90,8 +91,52 @@ public class MutableObjBytePair<L> extends ObjBytePair<L> {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null right element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<L, Byte> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView<L> b = boxed;
+        if (b == null) {
+            b = new BoxedView<>(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView<L> extends MutablePair<L, Byte> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableObjBytePair<L> pair;
+
+        BoxedView(MutableObjBytePair<L> pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public L getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(L left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Byte getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Byte right) {
+            pair.setRight(right);
+        }
     }
 }
@@ -33,6 +33,7 @@ public class MutableObjFloatPair<L> extends ObjFloatPair<L> {
 
     public L left;
     public float right;
+    private transient BoxedView<L> boxed;
 
     /**
      * Obtains a mutable pair of the given {@code Object} and {@code float} values.
@@ -90,8 +91,52 @@ public class MutableObjFloatPair<L> extends ObjFloatPair<L> {
         this.right = right;
     }
 
+    /**
+     * Returns a live boxed view of this pair. Setting an element through the view sets it in this
+     * pair, and changes to this pair are visible through the view. The view must be accessed
+     * through its methods; its public {@code left} and {@code right} fields are not used. Setting a
+     * null right element through the view throws {@link NullPointerException}.
+     *
+     * @return the boxed view, not null
+     */
     @Override
     public MutablePair<L, Float> boxed() {
-        return new MutablePair<>(left, right);
+        BoxedView<L> b = boxed;
+        if (b == null) {
+            b = new BoxedView<>(this);
+            boxed = b;
+        }
+        return b;
+    }
+
+    private static final class BoxedView<L> extends MutablePair<L, Float> {
+
+        private static final long serialVersionUID = 1;
+
+        private final MutableObjFloatPair<L> pair;
+
+        BoxedView(MutableObjFloatPair<L> pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public L getLeft() {
+            return pair.getLeft();
+        }
+
+        @Override
+        public void setLeft(L left) {
+            pair.setLeft(left);
+        }
+
+        @Override
+        public Float getRight() {
+            return pair.getRight();
+        }
+
+        @Override
+        public void setRight(Float right) {
+            pair.setRight(right);
+        }
     }
 }
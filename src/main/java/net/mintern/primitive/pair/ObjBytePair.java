@@ -47,6 +47,45 @@ public abstract class ObjBytePair<L> implements PrimitivePair<L, Byte>, Comparab
         return ImmutableObjBytePair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element. The left elements must be {@link Comparable}.
+     *
+     * @param <L>  the left element type
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static <L> int compare(L left1, byte right1, L left2, byte right2) {
+        return new CompareToBuilder().append(left1, left2).append(right1, right2).toComparison();
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(Object left1, byte right1, Object left2, byte right2) {
+        return right1 == right2 && Objects.equals(left1, left2);
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(Object left, byte right) {
+        return Objects.hashCode(left) ^ right;
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -70,8 +109,7 @@ public abstract class ObjBytePair<L> implements PrimitivePair<L, Byte>, Comparab
      */
     @Override
     public int compareTo(ObjBytePair<L> other) {
-        return new CompareToBuilder().append(getLeft(), other.getLeft())
-                .append(getRight(), other.getRight()).toComparison();
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
@@ -87,7 +125,7 @@ public abstract class ObjBytePair<L> implements PrimitivePair<L, Byte>, Comparab
         }
         if (obj instanceof ObjBytePair<?>) {
             ObjBytePair<?> o = (ObjBytePair<?>) obj;
-            return getRight() == o.getRight() && Objects.equals(getLeft(), o.getLeft());
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -97,11 +135,11 @@ public abstract class ObjBytePair<L> implements PrimitivePair<L, Byte>, Comparab
      *
      * @return the hash code
      * @see Objects#hashCode(Object)
-     * @see Byte#hashCode(byte)
+     * @see Byte#hashCode()
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(getLeft()) ^ Byte.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
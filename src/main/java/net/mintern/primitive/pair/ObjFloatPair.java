@@ -47,6 +47,46 @@ public abstract class ObjFloatPair<L> implements PrimitivePair<L, Float>, Compar
         return ImmutableObjFloatPair.of(left, right);
     }
 
+    /**
+     * Compares two pairs given by their elements, in the same order as {@link #compareTo}: by the
+     * left element, then by the right element. The left elements must be {@link Comparable}.
+     *
+     * @param <L>  the left element type
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return negative if the first pair is less, zero if equal, positive if greater
+     */
+    public static <L> int compare(L left1, float right1, L left2, float right2) {
+        return new CompareToBuilder().append(left1, left2).append(right1, right2).toComparison();
+    }
+
+    /**
+     * Tests whether two pairs given by their elements are equal, as {@link #equals(Object)} does.
+     *
+     * @param left1  the left element of the first pair
+     * @param right1  the right element of the first pair
+     * @param left2  the left element of the second pair
+     * @param right2  the right element of the second pair
+     * @return true if the elements of the pairs are equal
+     */
+    public static boolean equals(Object left1, float right1, Object left2, float right2) {
+        return Float.floatToIntBits(right1) == Float.floatToIntBits(right2)
+                && Objects.equals(left1, left2);
+    }
+
+    /**
+     * Returns the hash code of a pair with the given elements, as {@link #hashCode()} does.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the hash code
+     */
+    public static int hash(Object left, float right) {
+        return Objects.hashCode(left) ^ Float.floatToIntBits(right);
+    }
+
     /**
      * Gets the left element from this pair.
      *
@@ -70,12 +110,14 @@ public abstract class ObjFloatPair<L> implements PrimitivePair<L, Float>, Compar
      */
     @Override
     public int compareTo(ObjFloatPair<L> other) {
-        return new CompareToBuilder().append(getLeft(), other.getLeft())
-                .append(getRight(), other.getRight()).toComparison();
+        return compare(getLeft(), getRight(), other.getLeft(), other.getRight());
     }
 
     /**
-     * Compares this pair to another based on the two elements.
+     * Compares this pair to another based on the two elements. Floating-point elements are compared
+     * by their bits, as by {@link Float#equals(Object)}, so {@code NaN} is equal to itself and
+     * {@code 0.0f} is not equal to {@code -0.0f}. This is consistent with {@link #hashCode()} and
+     * {@link #compareTo}.
      *
      * @param obj  the object to compare to, null returns false
      * @return true if the elements of the pair are equal
@@ -87,7 +129,7 @@ public abstract class ObjFloatPair<L> implements PrimitivePair<L, Float>, Compar
         }
         if (obj instanceof ObjFloatPair<?>) {
             ObjFloatPair<?> o = (ObjFloatPair<?>) obj;
-            return getRight() == o.getRight() && Objects.equals(getLeft(), o.getLeft());
+            return equals(getLeft(), getRight(), o.getLeft(), o.getRight());
         }
         return false;
     }
@@ -97,11 +139,11 @@ public abstract class ObjFloatPair<L> implements PrimitivePair<L, Float>, Compar
      *
      * @return the hash code
      * @see Objects#hashCode(Object)
-     * @see Float#hashCode(float)
+     * @see Float#hashCode()
      */
     @Override
     public int hashCode() {
-        return Objects.hashCode(getLeft()) ^ Float.hashCode(getRight());
+        return hash(getLeft(), getRight());
     }
 
     /**
@@ -0,0 +1,161 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Objects;
+
+/**
+ * Bulk operations on the arrays that back the pair containers in this package.
+ * <p>
+ * This is the Java 7 implementation. On Java 9 and later, the multi-release JAR supplies a version
+ * of this class that uses {@code Arrays.equals} ranges, which the JIT vectorizes, and
+ * {@code VarHandle} byte-array views.
+ *
+ * @author Brandon Mintern
+ */
+final class PairArrays {
+
+    private PairArrays() {}
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(boolean[] a, boolean[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(char[] a, char[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(int[] a, int[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(long[] a, long[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link Float#equals(Object)}.
+     */
+    static boolean equals(float[] a, float[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Float.floatToIntBits(a[i]) != Float.floatToIntBits(b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link Double#equals(Object)}.
+     */
+    static boolean equals(double[] a, double[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(a[i]) != Double.doubleToLongBits(b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link java.util.Objects#equals(Object, Object)}.
+     */
+    static boolean equals(Object[] a, Object[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(a[i], b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a big-endian {@code int} from {@code bytes[offset..offset + 4)}.
+     */
+    static int getInt(byte[] bytes, int offset) {
+        return bytes[offset] << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+    }
+
+    /**
+     * Writes a big-endian {@code int} to {@code bytes[offset..offset + 4)}.
+     */
+    static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Reads a big-endian {@code long} from {@code bytes[offset..offset + 8)}.
+     */
+    static long getLong(byte[] bytes, int offset) {
+        return (long) getInt(bytes, offset) << 32 | getInt(bytes, offset + 4) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Writes a big-endian {@code long} to {@code bytes[offset..offset + 8)}.
+     */
+    static void putLong(byte[] bytes, int offset, long value) {
+        putInt(bytes, offset, (int) (value >>> 32));
+        putInt(bytes, offset + 4, (int) value);
+    }
+}
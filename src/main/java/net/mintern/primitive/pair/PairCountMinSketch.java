@@ -0,0 +1,1266 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * A count-min sketch that estimates how many times each primitive pair has been added, using a
+ * fixed amount of memory no matter how many distinct pairs there are. Pairs are passed directly
+ * as {@code (left, right)} arguments, with overloads for every pair type with primitive elements;
+ * a sketch should count pairs of a single type. Floating-point elements are counted by their bits,
+ * consistent with the pairs' {@code equals}.
+ * <p>
+ * An estimate is never less than the true count. A sketch created with
+ * {@link #create(double, double) create(epsilon, delta)} overestimates a count by more than
+ * {@code epsilon} times {@link #totalCount()} with probability at most {@code delta}. Counts are
+ * added with conservative update, which only raises the counters that determine the estimate, so
+ * estimates are usually much tighter than that bound.
+ * <p>
+ * Sketches with the same dimensions can be {@linkplain #merge(PairCountMinSketch) merged}, so
+ * separate threads can count into their own sketches and combine them afterwards. To find the
+ * most frequent {@code char} pairs themselves, see {@link CharPairHeavyHitters}.
+ * <p>
+ * Not #ThreadSafe#.
+ *
+ * @author Brandon Mintern
+ */
+public final class PairCountMinSketch {
+
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_WIDTH = 1 << 26;
+
+    /**
+     * Creates a sketch whose estimates exceed the true count by more than {@code epsilon} times
+     * the total count with probability at most {@code delta}.
+     *
+     * @param epsilon  the error bound as a fraction of the total count, greater than 0 and less
+     *        than 1
+     * @param delta  the probability of exceeding the error bound, greater than 0 and less than 1
+     * @return a new, empty sketch, not null
+     * @throws IllegalArgumentException if an argument is out of range or the sketch would be too
+     *         large
+     */
+    public static PairCountMinSketch create(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon out of range: " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta out of range: " + delta);
+        }
+        double width = Math.ceil(Math.E / epsilon);
+        if (width > MAX_WIDTH) {
+            throw new IllegalArgumentException("epsilon too small: " + epsilon);
+        }
+        int depth = (int) Math.min(MAX_DEPTH, Math.max(1, Math.ceil(Math.log(1 / delta))));
+        return withDimensions(depth, Integer.highestOneBit((int) width - 1) << 1);
+    }
+
+    /**
+     * Creates a sketch with the given number of rows of counters.
+     *
+     * @param depth  the number of rows, from 1 to 32
+     * @param width  the number of counters in each row, a power of two from 1 to 2<sup>26</sup>
+     * @return a new, empty sketch, not null
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static PairCountMinSketch withDimensions(int depth, int width) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth out of range: " + depth);
+        }
+        if (width < 1 || width > MAX_WIDTH || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two up to 2^26: " + width);
+        }
+        return new PairCountMinSketch(depth, width);
+    }
+
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+    private long total;
+
+    private PairCountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    /**
+     * Returns the index of the counter for a hash in the given row.
+     */
+    private int counter(long hash, long step, int row) {
+        return row * width + ((int) ((hash + row * step) >>> 32) & (width - 1));
+    }
+
+    private void addHash(long hash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        long step = PairHash.mix(hash) | 1;
+        long[] c = counters;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, c[counter(hash, step, row)]);
+        }
+        // Conservative update: raise each counter only as far as the new estimate.
+        long target = min + count;
+        for (int row = 0; row < depth; row++) {
+            int i = counter(hash, step, row);
+            if (c[i] < target) {
+                c[i] = target;
+            }
+        }
+        total += count;
+    }
+
+    private long estimateHash(long hash) {
+        long step = PairHash.mix(hash) | 1;
+        long[] c = counters;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, c[counter(hash, step, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Counts one occurrence of a {@code (double, float)} pair, the elements of a {@link
+     * DoubleFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(double left, float right) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), Float.floatToIntBits(right)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (double, float)} pair, the elements of a {@link
+     * DoubleFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(double left, float right, long count) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), Float.floatToIntBits(right)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (double, float)} pair, the elements of a {@link
+     * DoubleFloatPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(double left, float right) {
+        return estimateHash(
+                PairHash.hash(Double.doubleToLongBits(left), Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (double, char)} pair, the elements of a {@link
+     * DoubleCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(double left, char right) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (double, char)} pair, the elements of a {@link
+     * DoubleCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(double left, char right, long count) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (double, char)} pair, the elements of a {@link
+     * DoubleCharPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(double left, char right) {
+        return estimateHash(PairHash.hash(Double.doubleToLongBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (double, byte)} pair, the elements of a {@link
+     * DoubleBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(double left, byte right) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (double, byte)} pair, the elements of a {@link
+     * DoubleBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(double left, byte right, long count) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (double, byte)} pair, the elements of a {@link
+     * DoubleBytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(double left, byte right) {
+        return estimateHash(PairHash.hash(Double.doubleToLongBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (double, boolean)} pair, the elements of a {@link
+     * DoubleBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(double left, boolean right) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (double, boolean)} pair, the elements of a
+     * {@link DoubleBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(double left, boolean right, long count) {
+        addHash(PairHash.hash(Double.doubleToLongBits(left), (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (double, boolean)} pair, the elements of a {@link
+     * DoubleBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(double left, boolean right) {
+        return estimateHash(PairHash.hash(Double.doubleToLongBits(left), (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (long, float)} pair, the elements of a {@link
+     * LongFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(long left, float right) {
+        addHash(PairHash.hash(left, Float.floatToIntBits(right)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (long, float)} pair, the elements of a {@link
+     * LongFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long left, float right, long count) {
+        addHash(PairHash.hash(left, Float.floatToIntBits(right)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (long, float)} pair, the elements of a {@link
+     * LongFloatPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(long left, float right) {
+        return estimateHash(PairHash.hash(left, Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (long, char)} pair, the elements of a {@link LongCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(long left, char right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (long, char)} pair, the elements of a {@link
+     * LongCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long left, char right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (long, char)} pair, the elements of a {@link
+     * LongCharPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(long left, char right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (long, byte)} pair, the elements of a {@link LongBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(long left, byte right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (long, byte)} pair, the elements of a {@link
+     * LongBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long left, byte right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (long, byte)} pair, the elements of a {@link
+     * LongBytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(long left, byte right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (long, boolean)} pair, the elements of a {@link
+     * LongBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(long left, boolean right) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (long, boolean)} pair, the elements of a {@link
+     * LongBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long left, boolean right, long count) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (long, boolean)} pair, the elements of a {@link
+     * LongBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(long left, boolean right) {
+        return estimateHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (int, float)} pair, the elements of a {@link IntFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(int left, float right) {
+        addHash(PairHash.hash(left, Float.floatToIntBits(right)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (int, float)} pair, the elements of a {@link
+     * IntFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(int left, float right, long count) {
+        addHash(PairHash.hash(left, Float.floatToIntBits(right)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (int, float)} pair, the elements of a {@link
+     * IntFloatPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(int left, float right) {
+        return estimateHash(PairHash.hash(left, Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (int, char)} pair, the elements of a {@link IntCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(int left, char right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (int, char)} pair, the elements of a {@link
+     * IntCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(int left, char right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (int, char)} pair, the elements of a {@link
+     * IntCharPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(int left, char right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (int, byte)} pair, the elements of a {@link IntBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(int left, byte right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (int, byte)} pair, the elements of a {@link
+     * IntBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(int left, byte right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (int, byte)} pair, the elements of a {@link
+     * IntBytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(int left, byte right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (int, boolean)} pair, the elements of a {@link
+     * IntBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(int left, boolean right) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (int, boolean)} pair, the elements of a {@link
+     * IntBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(int left, boolean right, long count) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (int, boolean)} pair, the elements of a {@link
+     * IntBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(int left, boolean right) {
+        return estimateHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, long)} pair, the elements of a {@link
+     * FloatLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, long right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, long)} pair, the elements of a {@link
+     * FloatLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, long right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, long)} pair, the elements of a {@link
+     * FloatLongPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, long right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, int)} pair, the elements of a {@link FloatIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, int right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, int)} pair, the elements of a {@link
+     * FloatIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, int right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, int)} pair, the elements of a {@link
+     * FloatIntPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, int right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, float)} pair, the elements of a {@link FloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, float right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), Float.floatToIntBits(right)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, float)} pair, the elements of a {@link
+     * FloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, float right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), Float.floatToIntBits(right)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, float)} pair, the elements of a {@link
+     * FloatPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, float right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, char)} pair, the elements of a {@link
+     * FloatCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, char right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, char)} pair, the elements of a {@link
+     * FloatCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, char right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, char)} pair, the elements of a {@link
+     * FloatCharPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, char right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, byte)} pair, the elements of a {@link
+     * FloatBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, byte right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, byte)} pair, the elements of a {@link
+     * FloatBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, byte right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, byte)} pair, the elements of a {@link
+     * FloatBytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, byte right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (float, boolean)} pair, the elements of a {@link
+     * FloatBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(float left, boolean right) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (float, boolean)} pair, the elements of a {@link
+     * FloatBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(float left, boolean right, long count) {
+        addHash(PairHash.hash(Float.floatToIntBits(left), (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (float, boolean)} pair, the elements of a {@link
+     * FloatBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(float left, boolean right) {
+        return estimateHash(PairHash.hash(Float.floatToIntBits(left), (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (char, long)} pair, the elements of a {@link CharLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, long right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (char, long)} pair, the elements of a {@link
+     * CharLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, long right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (char, long)} pair, the elements of a {@link
+     * CharLongPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(char left, long right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (char, int)} pair, the elements of a {@link CharIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, int right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (char, int)} pair, the elements of a {@link
+     * CharIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, int right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (char, int)} pair, the elements of a {@link
+     * CharIntPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(char left, int right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (char, char)} pair, the elements of a {@link CharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, char right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (char, char)} pair, the elements of a {@link
+     * CharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, char right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (char, char)} pair, the elements of a {@link
+     * CharPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(char left, char right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (char, byte)} pair, the elements of a {@link CharBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, byte right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (char, byte)} pair, the elements of a {@link
+     * CharBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, byte right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (char, byte)} pair, the elements of a {@link
+     * CharBytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(char left, byte right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (char, boolean)} pair, the elements of a {@link
+     * CharBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(char left, boolean right) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (char, boolean)} pair, the elements of a {@link
+     * CharBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(char left, boolean right, long count) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (char, boolean)} pair, the elements of a {@link
+     * CharBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(char left, boolean right) {
+        return estimateHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (byte, long)} pair, the elements of a {@link ByteLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(byte left, long right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (byte, long)} pair, the elements of a {@link
+     * ByteLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(byte left, long right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (byte, long)} pair, the elements of a {@link
+     * ByteLongPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(byte left, long right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (byte, int)} pair, the elements of a {@link ByteIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(byte left, int right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (byte, int)} pair, the elements of a {@link
+     * ByteIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(byte left, int right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (byte, int)} pair, the elements of a {@link
+     * ByteIntPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(byte left, int right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (byte, byte)} pair, the elements of a {@link BytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(byte left, byte right) {
+        addHash(PairHash.hash(left, right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (byte, byte)} pair, the elements of a {@link
+     * BytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(byte left, byte right, long count) {
+        addHash(PairHash.hash(left, right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (byte, byte)} pair, the elements of a {@link
+     * BytePair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(byte left, byte right) {
+        return estimateHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (byte, boolean)} pair, the elements of a {@link
+     * ByteBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(byte left, boolean right) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (byte, boolean)} pair, the elements of a {@link
+     * ByteBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(byte left, boolean right, long count) {
+        addHash(PairHash.hash(left, (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (byte, boolean)} pair, the elements of a {@link
+     * ByteBooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(byte left, boolean right) {
+        return estimateHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (boolean, long)} pair, the elements of a {@link
+     * BooleanLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(boolean left, long right) {
+        addHash(PairHash.hash((left ? 1 : 0), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (boolean, long)} pair, the elements of a {@link
+     * BooleanLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(boolean left, long right, long count) {
+        addHash(PairHash.hash((left ? 1 : 0), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (boolean, long)} pair, the elements of a {@link
+     * BooleanLongPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(boolean left, long right) {
+        return estimateHash(PairHash.hash((left ? 1 : 0), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (boolean, int)} pair, the elements of a {@link
+     * BooleanIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(boolean left, int right) {
+        addHash(PairHash.hash((left ? 1 : 0), right), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (boolean, int)} pair, the elements of a {@link
+     * BooleanIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(boolean left, int right, long count) {
+        addHash(PairHash.hash((left ? 1 : 0), right), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (boolean, int)} pair, the elements of a {@link
+     * BooleanIntPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(boolean left, int right) {
+        return estimateHash(PairHash.hash((left ? 1 : 0), right));
+    }
+
+    /**
+     * Counts one occurrence of a {@code (boolean, boolean)} pair, the elements of a {@link
+     * BooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     */
+    public void add(boolean left, boolean right) {
+        addHash(PairHash.hash((left ? 1 : 0), (right ? 1 : 0)), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a {@code (boolean, boolean)} pair, the elements of a
+     * {@link BooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @param count  the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(boolean left, boolean right, long count) {
+        addHash(PairHash.hash((left ? 1 : 0), (right ? 1 : 0)), count);
+    }
+
+    /**
+     * Estimates the number of times a {@code (boolean, boolean)} pair, the elements of a {@link
+     * BooleanPair}, has been counted.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(boolean left, boolean right) {
+        return estimateHash(PairHash.hash((left ? 1 : 0), (right ? 1 : 0)));
+    }
+
+    /**
+     * Returns the number of rows of counters.
+     *
+     * @return the depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of counters in each row.
+     *
+     * @return the width
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the sum of all counts added.
+     *
+     * @return the total count
+     */
+    public long totalCount() {
+        return total;
+    }
+
+    /**
+     * Adds all of the counts of another sketch to this one. The merged estimates are still never
+     * less than the true counts.
+     *
+     * @param other  a sketch with the same dimensions, not null
+     * @throws IllegalArgumentException if the sketches have different dimensions
+     */
+    public void merge(PairCountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("dimensions differ: " + this + " and " + other);
+        }
+        long[] c = counters;
+        long[] o = other.counters;
+        for (int i = 0; i < c.length; i++) {
+            c[i] += o[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Resets every count to zero.
+     */
+    public void clear() {
+        Arrays.fill(counters, 0);
+        total = 0;
+    }
+
+    /**
+     * Returns a String describing the sketch's dimensions and total count.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "PairCountMinSketch[depth=" + depth + ", width=" + width + ", total=" + total + "]";
+    }
+}
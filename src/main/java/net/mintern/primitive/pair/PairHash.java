@@ -0,0 +1,50 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Well-mixed 64-bit hashes of pair elements, for the hash tables and sketches in this package.
+ * Unlike {@link Object#hashCode()}, every bit of the result depends on every bit of the input, so
+ * callers may take any subset of the bits as a table index.
+ *
+ * @author Brandon Mintern
+ */
+final class PairHash {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private PairHash() {}
+
+    /**
+     * The SplitMix64 finalizer, a bijection on {@code long} with good avalanche behavior.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Hashes two 64-bit values, such as the bits of a pair's left and right elements.
+     */
+    static long hash(long left, long right) {
+        return mix(mix(left + GOLDEN) + right);
+    }
+
+    /**
+     * Hashes a pair whose elements fit together in 64 bits, such as {@code left << 32 | right}.
+     */
+    static long hash(long packed) {
+        return mix(packed + GOLDEN);
+    }
+}
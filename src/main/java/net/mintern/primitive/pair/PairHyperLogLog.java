@@ -0,0 +1,612 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct primitive pairs it has seen, using a
+ * fixed amount of memory no matter how many pairs are added. Pairs are passed directly as
+ * {@code (left, right)} arguments to {@code add}, which has an overload for every pair type with
+ * primitive elements; a sketch should count pairs of a single type. Floating-point elements are
+ * counted by their bits, consistent with the pairs' {@code equals}.
+ * <p>
+ * A sketch with precision {@code p} has 2<sup>p</sup> registers, and its estimates have a relative
+ * standard error of about 1.04 / sqrt(2<sup>p</sup>): 0.81% at the default precision of 14. Until
+ * enough registers are in use to make it worthwhile, a sketch stores only its non-zero registers in
+ * a sparse table; it switches to a dense array of one byte per register automatically. The
+ * representation does not affect the estimates.
+ * <p>
+ * Sketches with the same precision can be {@linkplain #merge(PairHyperLogLog) merged}, so separate
+ * threads can count into their own sketches and combine them afterwards.
+ * <p>
+ * Not #ThreadSafe#.
+ *
+ * @author Brandon Mintern
+ */
+public final class PairHyperLogLog {
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+    private static final int DEFAULT_PRECISION = 14;
+    private static final int[] NO_ENTRIES = {};
+
+    private final int precision;
+    private final int registerCount;
+    /** The registers, or null while the sketch is sparse. */
+    private byte[] registers;
+    /**
+     * The sparse registers: an open-addressing table of {@code (index + 1) << 6 | value}, with 0
+     * marking an empty slot.
+     */
+    private int[] sparse = NO_ENTRIES;
+    private int sparseSize;
+
+    /**
+     * Creates an empty sketch with the default precision of 14, which uses at most 16 KiB.
+     */
+    public PairHyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an empty sketch with 2<sup>precision</sup> registers, which uses at most
+     * 2<sup>precision</sup> bytes.
+     *
+     * @param precision  the base-2 logarithm of the number of registers, from 4 to 18
+     * @throws IllegalArgumentException if {@code precision} is out of range
+     */
+    public PairHyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision out of range: " + precision);
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+    }
+
+    private boolean addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // The position of the first 1 bit after the index bits, capped by a sentinel bit.
+        int value = Long.numberOfLeadingZeros(hash << precision | 1L << (precision - 1)) + 1;
+        return update(index, value);
+    }
+
+    private boolean update(int index, int value) {
+        if (registers != null) {
+            if (registers[index] < value) {
+                registers[index] = (byte) value;
+                return true;
+            }
+            return false;
+        }
+        return updateSparse(index, value);
+    }
+
+    private boolean updateSparse(int index, int value) {
+        int[] table = sparse;
+        if (table.length > 0) {
+            int mask = table.length - 1;
+            for (int i = slot(index, mask); ; i = (i + 1) & mask) {
+                int entry = table[i];
+                if (entry == 0) {
+                    break;
+                }
+                if (entry >>> 6 == index + 1) {
+                    if ((entry & 0x3F) < value) {
+                        table[i] = (index + 1) << 6 | value;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+        }
+        // The index is new. A sparse entry costs 4 bytes at a load of at most one half, so once
+        // there are more than registerCount / 8 of them, the dense form is no larger.
+        if (sparseSize >= registerCount / 8) {
+            toDense();
+            registers[index] = (byte) value;
+            return true;
+        }
+        if (2 * (sparseSize + 1) > table.length) {
+            rehashSparse(Math.max(16, 2 * table.length));
+        }
+        insertSparse((index + 1) << 6 | value);
+        sparseSize++;
+        return true;
+    }
+
+    private static int slot(int index, int mask) {
+        return (index * 0x9E3779B9 >>> 16) & mask;
+    }
+
+    private void insertSparse(int entry) {
+        int[] table = sparse;
+        int mask = table.length - 1;
+        int i = slot((entry >>> 6) - 1, mask);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = entry;
+    }
+
+    private void rehashSparse(int capacity) {
+        int[] old = sparse;
+        sparse = new int[capacity];
+        for (int entry : old) {
+            if (entry != 0) {
+                insertSparse(entry);
+            }
+        }
+    }
+
+    private void toDense() {
+        byte[] r = new byte[registerCount];
+        for (int entry : sparse) {
+            if (entry != 0) {
+                r[(entry >>> 6) - 1] = (byte) (entry & 0x3F);
+            }
+        }
+        registers = r;
+        sparse = NO_ENTRIES;
+        sparseSize = 0;
+    }
+
+    /**
+     * Adds a {@code (double, float)} pair, the elements of a {@link DoubleFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(double left, float right) {
+        return addHash(PairHash.hash(Double.doubleToLongBits(left), Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Adds a {@code (double, char)} pair, the elements of a {@link DoubleCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(double left, char right) {
+        return addHash(PairHash.hash(Double.doubleToLongBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (double, byte)} pair, the elements of a {@link DoubleBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(double left, byte right) {
+        return addHash(PairHash.hash(Double.doubleToLongBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (double, boolean)} pair, the elements of a {@link DoubleBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(double left, boolean right) {
+        return addHash(PairHash.hash(Double.doubleToLongBits(left), (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (long, float)} pair, the elements of a {@link LongFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(long left, float right) {
+        return addHash(PairHash.hash(left, Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Adds a {@code (long, char)} pair, the elements of a {@link LongCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(long left, char right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (long, byte)} pair, the elements of a {@link LongBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(long left, byte right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (long, boolean)} pair, the elements of a {@link LongBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(long left, boolean right) {
+        return addHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (int, float)} pair, the elements of a {@link IntFloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(int left, float right) {
+        return addHash(PairHash.hash(left, Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Adds a {@code (int, char)} pair, the elements of a {@link IntCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(int left, char right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (int, byte)} pair, the elements of a {@link IntBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(int left, byte right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (int, boolean)} pair, the elements of a {@link IntBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(int left, boolean right) {
+        return addHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (float, long)} pair, the elements of a {@link FloatLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, long right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (float, int)} pair, the elements of a {@link FloatIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, int right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (float, float)} pair, the elements of a {@link FloatPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, float right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), Float.floatToIntBits(right)));
+    }
+
+    /**
+     * Adds a {@code (float, char)} pair, the elements of a {@link FloatCharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, char right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (float, byte)} pair, the elements of a {@link FloatBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, byte right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), right));
+    }
+
+    /**
+     * Adds a {@code (float, boolean)} pair, the elements of a {@link FloatBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(float left, boolean right) {
+        return addHash(PairHash.hash(Float.floatToIntBits(left), (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (char, long)} pair, the elements of a {@link CharLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(char left, long right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (char, int)} pair, the elements of a {@link CharIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(char left, int right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (char, char)} pair, the elements of a {@link CharPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(char left, char right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (char, byte)} pair, the elements of a {@link CharBytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(char left, byte right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (char, boolean)} pair, the elements of a {@link CharBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(char left, boolean right) {
+        return addHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (byte, long)} pair, the elements of a {@link ByteLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(byte left, long right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (byte, int)} pair, the elements of a {@link ByteIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(byte left, int right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (byte, byte)} pair, the elements of a {@link BytePair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(byte left, byte right) {
+        return addHash(PairHash.hash(left, right));
+    }
+
+    /**
+     * Adds a {@code (byte, boolean)} pair, the elements of a {@link ByteBooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(byte left, boolean right) {
+        return addHash(PairHash.hash(left, (right ? 1 : 0)));
+    }
+
+    /**
+     * Adds a {@code (boolean, long)} pair, the elements of a {@link BooleanLongPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(boolean left, long right) {
+        return addHash(PairHash.hash((left ? 1 : 0), right));
+    }
+
+    /**
+     * Adds a {@code (boolean, int)} pair, the elements of a {@link BooleanIntPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(boolean left, int right) {
+        return addHash(PairHash.hash((left ? 1 : 0), right));
+    }
+
+    /**
+     * Adds a {@code (boolean, boolean)} pair, the elements of a {@link BooleanPair}.
+     *
+     * @param left  the left element
+     * @param right  the right element
+     * @return true if the sketch changed
+     */
+    public boolean add(boolean left, boolean right) {
+        return addHash(PairHash.hash((left ? 1 : 0), (right ? 1 : 0)));
+    }
+
+    /**
+     * Returns the precision of this sketch: the base-2 logarithm of its number of registers.
+     *
+     * @return the precision
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Returns true if the sketch currently stores only its non-zero registers.
+     *
+     * @return true if the sketch is sparse
+     */
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+    /**
+     * Estimates the number of distinct pairs that have been added.
+     *
+     * @return the estimated number of distinct pairs
+     */
+    public long cardinality() {
+        int m = registerCount;
+        int zeros;
+        double sum;
+        if (registers == null) {
+            zeros = m - sparseSize;
+            sum = zeros;
+            for (int entry : sparse) {
+                if (entry != 0) {
+                    sum += Math.scalb(1.0, -(entry & 0x3F));
+                }
+            }
+        } else {
+            zeros = 0;
+            sum = 0;
+            for (byte value : registers) {
+                if (value == 0) {
+                    zeros++;
+                }
+                sum += Math.scalb(1.0, -value);
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities.
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * The bias correction constant of the HyperLogLog estimator for {@code m} registers.
+     */
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Adds every pair that was added to {@code other} to this sketch, so that this sketch counts
+     * the union of the two.
+     *
+     * @param other  a sketch with the same precision, not null
+     * @throws IllegalArgumentException if the sketches have different precisions
+     */
+    public void merge(PairHyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "precisions differ: " + precision + " and " + other.precision);
+        }
+        if (other.registers != null) {
+            if (registers == null) {
+                toDense();
+            }
+            byte[] r = registers;
+            byte[] o = other.registers;
+            for (int i = 0; i < r.length; i++) {
+                if (r[i] < o[i]) {
+                    r[i] = o[i];
+                }
+            }
+        } else {
+            for (int entry : other.sparse) {
+                if (entry != 0) {
+                    update((entry >>> 6) - 1, entry & 0x3F);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets the sketch to its empty, sparse state.
+     */
+    public void clear() {
+        registers = null;
+        sparse = NO_ENTRIES;
+        sparseSize = 0;
+    }
+
+    /**
+     * Returns a String describing the sketch's precision, representation, and estimate.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return "PairHyperLogLog[precision=" + precision + (registers == null ? ", sparse" : "")
+                + ", cardinality=" + cardinality() + "]";
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.Arrays;
+
+/**
+ * A bounded interner that returns a canonical immutable pair for repeated values, so that code that
+ * produces the same pair many times can share one instance instead of retaining many equal ones.
+ * <p>
+ * Each interner is a fixed-size, 4-way set-associative cache. The elements of cached pairs are
+ * kept in primitive arrays alongside the pairs themselves, so a lookup compares primitives without
+ * dereferencing any pair. When all four slots for a value are full, the least recently used one is
+ * evicted. Because the cache is bounded, interning does not guarantee that equal pairs are always
+ * the same instance; it only makes that likely for frequently seen values. {@link #hitRate()} shows
+ * how well the capacity suits the workload.
+ * <p>
+ * Not #ThreadSafe#. Use one interner per thread, or synchronize externally.
+ *
+ * @author Brandon Mintern
+ */
+public abstract class PairInterner {
+
+    static final int WAYS = 4;
+
+    /**
+     * Creates an interner for {@link ImmutableCharIntPair}s.
+     *
+     * @param capacity  the maximum number of pairs to cache, positive; rounded up to a power of two
+     * @return a new interner, not null
+     * @throws IllegalArgumentException if {@code capacity} is not positive or is too large
+     */
+    public static CharIntPairInterner forCharIntPair(int capacity) {
+        return new CharIntPairInterner(capacity);
+    }
+
+    /**
+     * Creates an interner for {@link ImmutableIntBytePair}s.
+     *
+     * @param capacity  the maximum number of pairs to cache, positive; rounded up to a power of two
+     * @return a new interner, not null
+     * @throws IllegalArgumentException if {@code capacity} is not positive or is too large
+     */
+    public static IntBytePairInterner forIntBytePair(int capacity) {
+        return new IntBytePairInterner(capacity);
+    }
+
+    /**
+     * Creates an interner for {@link ImmutableLongCharPair}s.
+     *
+     * @param capacity  the maximum number of pairs to cache, positive; rounded up to a power of two
+     * @return a new interner, not null
+     * @throws IllegalArgumentException if {@code capacity} is not positive or is too large
+     */
+    public static LongCharPairInterner forLongCharPair(int capacity) {
+        return new LongCharPairInterner(capacity);
+    }
+
+    /** The last-use time of each slot, or 0 if the slot is empty. */
+    final long[] stamps;
+    final int setMask;
+    private long clock;
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    PairInterner(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int slots = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        stamps = new long[slots];
+        setMask = slots / WAYS - 1;
+    }
+
+    /**
+     * Returns the first slot of the set that a hash maps to.
+     */
+    final int setStart(long hash) {
+        return ((int) (hash >>> 32) & setMask) * WAYS;
+    }
+
+    /**
+     * Records a hit in the given slot.
+     */
+    final void hit(int slot) {
+        hits++;
+        stamps[slot] = ++clock;
+    }
+
+    /**
+     * Records a miss in the set beginning at {@code start} and returns the slot to fill: an empty
+     * one if there is one, otherwise the least recently used one.
+     */
+    final int miss(int start) {
+        misses++;
+        int victim = start;
+        long oldest = stamps[start];
+        for (int i = start + 1; i < start + WAYS && oldest != 0; i++) {
+            if (stamps[i] < oldest) {
+                victim = i;
+                oldest = stamps[i];
+            }
+        }
+        if (oldest == 0) {
+            size++;
+        } else {
+            evictions++;
+        }
+        stamps[victim] = ++clock;
+        return victim;
+    }
+
+    /**
+     * Returns the maximum number of pairs that this interner caches.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return stamps.length;
+    }
+
+    /**
+     * Returns the number of pairs currently cached.
+     *
+     * @return the number of cached pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached pair.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached pair.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of cached pairs that were evicted to make room for others.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a cached pair.
+     *
+     * @return the hit rate between 0 and 1, or {@code NaN} if there have been no lookups
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    /**
+     * Resets the hit, miss, and eviction counts to zero.
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Removes all cached pairs. The statistics are not reset.
+     */
+    public void clear() {
+        Arrays.fill(stamps, 0);
+        clearPairs();
+        size = 0;
+    }
+
+    abstract void clearPairs();
+
+    /**
+     * Returns a String describing the interner's size and statistics.
+     *
+     * @return a string describing this object, not null
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size + ", capacity=" + capacity()
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+}
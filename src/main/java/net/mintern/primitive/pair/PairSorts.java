@@ -0,0 +1,4065 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Allocation-free sorts of pairs stored in parallel arrays, ordering them as the corresponding
+ * {@code FooPair.compareTo} does: by left element, then by right element.
+ * <p>
+ * Each overload is an introsort: a quicksort with median-of-three pivots that falls back to
+ * heapsort if it recurses too deeply and to insertion sort for short ranges, so every sort takes
+ * O(n log n) time in the worst case. The sorts are not stable, which cannot be observed for pairs
+ * that compare equal except through the identity of {@code Object} left elements.
+ *
+ * @author Brandon Mintern
+ */
+final class PairSorts {
+
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private PairSorts() {}
+
+    private static int depthLimit(int length) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareObjects(Object a, Object b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    // ---- ObjFloatPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ObjFloatPair}s.
+     */
+    static void sort(Object[] lefts, float[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(Object l1, float r1, Object l2, float r2) {
+        int cmp = compareObjects(l1, l2);
+        return cmp != 0 ? cmp : Float.compare(r1, r2);
+    }
+
+    private static void quickSort(Object[] l, float[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            Object pl = l[lo];
+            float pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(Object[] l, float[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(Object[] l, float[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object kl = l[i];
+            float kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(Object[] l, float[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(Object[] l, float[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(Object[] l, float[] r, int i, int j) {
+        Object tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        float tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ObjCharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ObjCharPair}s.
+     */
+    static void sort(Object[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(Object l1, char r1, Object l2, char r2) {
+        int cmp = compareObjects(l1, l2);
+        return cmp != 0 ? cmp : Character.compare(r1, r2);
+    }
+
+    private static void quickSort(Object[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            Object pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(Object[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(Object[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(Object[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(Object[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(Object[] l, char[] r, int i, int j) {
+        Object tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ObjBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ObjBytePair}s.
+     */
+    static void sort(Object[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(Object l1, byte r1, Object l2, byte r2) {
+        int cmp = compareObjects(l1, l2);
+        return cmp != 0 ? cmp : Byte.compare(r1, r2);
+    }
+
+    private static void quickSort(Object[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            Object pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(Object[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(Object[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(Object[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(Object[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(Object[] l, byte[] r, int i, int j) {
+        Object tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ObjBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ObjBooleanPair}s.
+     */
+    static void sort(Object[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(Object l1, boolean r1, Object l2, boolean r2) {
+        int cmp = compareObjects(l1, l2);
+        return cmp != 0 ? cmp : Boolean.compare(r1, r2);
+    }
+
+    private static void quickSort(Object[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            Object pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(Object[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(Object[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(Object[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(Object[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(Object[] l, boolean[] r, int i, int j) {
+        Object tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- DoubleFloatPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link DoubleFloatPair}s.
+     */
+    static void sort(double[] lefts, float[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(double l1, float r1, double l2, float r2) {
+        return DoubleFloatPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(double[] l, float[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            double pl = l[lo];
+            float pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(double[] l, float[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(double[] l, float[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double kl = l[i];
+            float kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(double[] l, float[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] l, float[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(double[] l, float[] r, int i, int j) {
+        double tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        float tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- DoubleCharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link DoubleCharPair}s.
+     */
+    static void sort(double[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(double l1, char r1, double l2, char r2) {
+        return DoubleCharPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(double[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            double pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(double[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(double[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(double[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(double[] l, char[] r, int i, int j) {
+        double tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- DoubleBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link DoubleBytePair}s.
+     */
+    static void sort(double[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(double l1, byte r1, double l2, byte r2) {
+        return DoubleBytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(double[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            double pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(double[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(double[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(double[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(double[] l, byte[] r, int i, int j) {
+        double tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- DoubleBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link DoubleBooleanPair}s.
+     */
+    static void sort(double[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(double l1, boolean r1, double l2, boolean r2) {
+        return DoubleBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(double[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            double pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(double[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(double[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(double[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(double[] l, boolean[] r, int i, int j) {
+        double tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- LongFloatPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link LongFloatPair}s.
+     */
+    static void sort(long[] lefts, float[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(long l1, float r1, long l2, float r2) {
+        return LongFloatPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(long[] l, float[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            long pl = l[lo];
+            float pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(long[] l, float[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(long[] l, float[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long kl = l[i];
+            float kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(long[] l, float[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] l, float[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(long[] l, float[] r, int i, int j) {
+        long tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        float tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- LongCharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link LongCharPair}s.
+     */
+    static void sort(long[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(long l1, char r1, long l2, char r2) {
+        return LongCharPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(long[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            long pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(long[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(long[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(long[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(long[] l, char[] r, int i, int j) {
+        long tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- LongBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link LongBytePair}s.
+     */
+    static void sort(long[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(long l1, byte r1, long l2, byte r2) {
+        return LongBytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(long[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            long pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(long[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(long[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(long[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(long[] l, byte[] r, int i, int j) {
+        long tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- LongBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link LongBooleanPair}s.
+     */
+    static void sort(long[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(long l1, boolean r1, long l2, boolean r2) {
+        return LongBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(long[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            long pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(long[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(long[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(long[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(long[] l, boolean[] r, int i, int j) {
+        long tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- IntFloatPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link IntFloatPair}s.
+     */
+    static void sort(int[] lefts, float[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(int l1, float r1, int l2, float r2) {
+        return IntFloatPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(int[] l, float[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            int pl = l[lo];
+            float pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(int[] l, float[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(int[] l, float[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int kl = l[i];
+            float kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(int[] l, float[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] l, float[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(int[] l, float[] r, int i, int j) {
+        int tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        float tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- IntCharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link IntCharPair}s.
+     */
+    static void sort(int[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(int l1, char r1, int l2, char r2) {
+        return IntCharPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(int[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            int pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(int[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(int[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(int[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(int[] l, char[] r, int i, int j) {
+        int tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- IntBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link IntBytePair}s.
+     */
+    static void sort(int[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(int l1, byte r1, int l2, byte r2) {
+        return IntBytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(int[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            int pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(int[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(int[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(int[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(int[] l, byte[] r, int i, int j) {
+        int tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- IntBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link IntBooleanPair}s.
+     */
+    static void sort(int[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(int l1, boolean r1, int l2, boolean r2) {
+        return IntBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(int[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            int pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(int[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(int[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(int[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(int[] l, boolean[] r, int i, int j) {
+        int tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatLongPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatLongPair}s.
+     */
+    static void sort(float[] lefts, long[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, long r1, float l2, long r2) {
+        return FloatLongPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, long[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            long pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, long[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, long[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            long kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, long[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, long[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, long[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        long tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatIntPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatIntPair}s.
+     */
+    static void sort(float[] lefts, int[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, int r1, float l2, int r2) {
+        return FloatIntPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, int[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            int pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, int[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, int[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            int kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, int[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, int[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, int[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        int tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatPair}s.
+     */
+    static void sort(float[] lefts, float[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, float r1, float l2, float r2) {
+        return FloatPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, float[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            float pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, float[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, float[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            float kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, float[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, float[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, float[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        float tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatCharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatCharPair}s.
+     */
+    static void sort(float[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, char r1, float l2, char r2) {
+        return FloatCharPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, char[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatBytePair}s.
+     */
+    static void sort(float[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, byte r1, float l2, byte r2) {
+        return FloatBytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, byte[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- FloatBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link FloatBooleanPair}s.
+     */
+    static void sort(float[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(float l1, boolean r1, float l2, boolean r2) {
+        return FloatBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(float[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            float pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(float[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(float[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(float[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(float[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(float[] l, boolean[] r, int i, int j) {
+        float tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- CharLongPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link CharLongPair}s.
+     */
+    static void sort(char[] lefts, long[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(char l1, long r1, char l2, long r2) {
+        return CharLongPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(char[] l, long[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            char pl = l[lo];
+            long pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(char[] l, long[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(char[] l, long[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char kl = l[i];
+            long kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(char[] l, long[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] l, long[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(char[] l, long[] r, int i, int j) {
+        char tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        long tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- CharIntPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link CharIntPair}s.
+     */
+    static void sort(char[] lefts, int[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(char l1, int r1, char l2, int r2) {
+        return CharIntPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(char[] l, int[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            char pl = l[lo];
+            int pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(char[] l, int[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(char[] l, int[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char kl = l[i];
+            int kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(char[] l, int[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] l, int[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(char[] l, int[] r, int i, int j) {
+        char tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        int tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- CharPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link CharPair}s.
+     */
+    static void sort(char[] lefts, char[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(char l1, char r1, char l2, char r2) {
+        return CharPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(char[] l, char[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            char pl = l[lo];
+            char pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(char[] l, char[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(char[] l, char[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char kl = l[i];
+            char kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(char[] l, char[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] l, char[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(char[] l, char[] r, int i, int j) {
+        char tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        char tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- CharBytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link CharBytePair}s.
+     */
+    static void sort(char[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(char l1, byte r1, char l2, byte r2) {
+        return CharBytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(char[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            char pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(char[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(char[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(char[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(char[] l, byte[] r, int i, int j) {
+        char tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- CharBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link CharBooleanPair}s.
+     */
+    static void sort(char[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(char l1, boolean r1, char l2, boolean r2) {
+        return CharBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(char[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            char pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(char[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(char[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(char[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(char[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(char[] l, boolean[] r, int i, int j) {
+        char tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ByteLongPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ByteLongPair}s.
+     */
+    static void sort(byte[] lefts, long[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(byte l1, long r1, byte l2, long r2) {
+        return ByteLongPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(byte[] l, long[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            byte pl = l[lo];
+            long pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(byte[] l, long[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(byte[] l, long[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte kl = l[i];
+            long kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(byte[] l, long[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(byte[] l, long[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(byte[] l, long[] r, int i, int j) {
+        byte tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        long tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ByteIntPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ByteIntPair}s.
+     */
+    static void sort(byte[] lefts, int[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(byte l1, int r1, byte l2, int r2) {
+        return ByteIntPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(byte[] l, int[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            byte pl = l[lo];
+            int pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(byte[] l, int[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(byte[] l, int[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte kl = l[i];
+            int kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(byte[] l, int[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(byte[] l, int[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(byte[] l, int[] r, int i, int j) {
+        byte tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        int tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- BytePair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link BytePair}s.
+     */
+    static void sort(byte[] lefts, byte[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(byte l1, byte r1, byte l2, byte r2) {
+        return BytePair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(byte[] l, byte[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            byte pl = l[lo];
+            byte pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(byte[] l, byte[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(byte[] l, byte[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte kl = l[i];
+            byte kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(byte[] l, byte[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(byte[] l, byte[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(byte[] l, byte[] r, int i, int j) {
+        byte tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        byte tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- ByteBooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link ByteBooleanPair}s.
+     */
+    static void sort(byte[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(byte l1, boolean r1, byte l2, boolean r2) {
+        return ByteBooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(byte[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            byte pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(byte[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(byte[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(byte[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(byte[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(byte[] l, boolean[] r, int i, int j) {
+        byte tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- BooleanLongPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link BooleanLongPair}s.
+     */
+    static void sort(boolean[] lefts, long[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(boolean l1, long r1, boolean l2, long r2) {
+        return BooleanLongPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(boolean[] l, long[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            boolean pl = l[lo];
+            long pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(boolean[] l, long[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(boolean[] l, long[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            boolean kl = l[i];
+            long kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(boolean[] l, long[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(boolean[] l, long[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(boolean[] l, long[] r, int i, int j) {
+        boolean tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        long tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- BooleanIntPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link BooleanIntPair}s.
+     */
+    static void sort(boolean[] lefts, int[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(boolean l1, int r1, boolean l2, int r2) {
+        return BooleanIntPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(boolean[] l, int[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            boolean pl = l[lo];
+            int pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(boolean[] l, int[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(boolean[] l, int[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            boolean kl = l[i];
+            int kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(boolean[] l, int[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(boolean[] l, int[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(boolean[] l, int[] r, int i, int j) {
+        boolean tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        int tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+
+    // ---- BooleanPair ----
+
+    /**
+     * Sorts {@code lefts[from..to)} and {@code rights[from..to)} together as
+     * {@link BooleanPair}s.
+     */
+    static void sort(boolean[] lefts, boolean[] rights, int from, int to) {
+        quickSort(lefts, rights, from, to, depthLimit(to - from));
+    }
+
+    private static int compare(boolean l1, boolean r1, boolean l2, boolean r2) {
+        return BooleanPair.compare(l1, r1, l2, r2);
+    }
+
+    private static void quickSort(boolean[] l, boolean[] r, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(l, r, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            medianToFront(l, r, lo, mid, hi - 1);
+            boolean pl = l[lo];
+            boolean pr = r[lo];
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && compare(l[i], r[i], pl, pr) < 0);
+                do {
+                    j--;
+                } while (compare(l[j], r[j], pl, pr) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(l, r, i, j);
+            }
+            swap(l, r, lo, j);
+            if (j - lo < hi - j) {
+                quickSort(l, r, lo, j, depth);
+                lo = j + 1;
+            } else {
+                quickSort(l, r, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(l, r, lo, hi);
+    }
+
+    private static void medianToFront(boolean[] l, boolean[] r, int a, int b, int c) {
+        if (compare(l[b], r[b], l[a], r[a]) < 0) {
+            swap(l, r, a, b);
+        }
+        if (compare(l[c], r[c], l[b], r[b]) < 0) {
+            swap(l, r, b, c);
+            if (compare(l[b], r[b], l[a], r[a]) < 0) {
+                swap(l, r, a, b);
+            }
+        }
+        swap(l, r, a, b);
+    }
+
+    private static void insertionSort(boolean[] l, boolean[] r, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            boolean kl = l[i];
+            boolean kr = r[i];
+            int j = i - 1;
+            while (j >= lo && compare(l[j], r[j], kl, kr) > 0) {
+                l[j + 1] = l[j];
+                r[j + 1] = r[j];
+                j--;
+            }
+            l[j + 1] = kl;
+            r[j + 1] = kr;
+        }
+    }
+
+    private static void heapSort(boolean[] l, boolean[] r, int lo, int hi) {
+        int n = hi - lo;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(l, r, lo, k, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(l, r, lo, lo + end);
+            siftDown(l, r, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(boolean[] l, boolean[] r, int base, int k, int n) {
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                return;
+            }
+            int c = base + child;
+            if (child + 1 < n && compare(l[c], r[c], l[c + 1], r[c + 1]) < 0) {
+                c++;
+                child++;
+            }
+            int p = base + k;
+            if (compare(l[p], r[p], l[c], r[c]) >= 0) {
+                return;
+            }
+            swap(l, r, p, c);
+            k = child;
+        }
+    }
+
+    private static void swap(boolean[] l, boolean[] r, int i, int j) {
+        boolean tl = l[i];
+        l[i] = l[j];
+        l[j] = tl;
+        boolean tr = r[i];
+        r[i] = r[j];
+        r[j] = tr;
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An immutable weighted random sampler over items given as {@link ObjFloatPair}s of
+ * {@code (item, weight)}. Each draw returns an item with probability proportional to its weight.
+ * <p>
+ * The sampler is built with Vose's alias method in O(n) time, after which every draw takes O(1)
+ * time and a single random number, regardless of the number of items. Draws do not allocate;
+ * {@link #sample(Random, int, int[])} fills a caller-supplied array with many draws at once.
+ * <p>
+ * To sample from a stream whose length is not known in advance, use a {@link Reservoir}.
+ * <p>
+ * #ThreadSafe# if the items are thread-safe. The methods that do not take a {@link Random} use
+ * {@link ThreadLocalRandom}.
+ *
+ * @param <T> the item type
+ * @author Brandon Mintern
+ */
+public final class WeightedSampler<T> {
+
+    /**
+     * Builds a sampler over the given {@code (item, weight)} pairs. Items may appear more than
+     * once, in which case their weights are effectively summed. Items with a weight of zero are
+     * never drawn.
+     *
+     * @param <T> the item type
+     * @param weighted  the items and their weights, not null and not containing null
+     * @return a sampler over the items, not null
+     * @throws IllegalArgumentException if any weight is negative, infinite, or NaN, or if the
+     *         weights do not sum to a positive number
+     */
+    public static <T> WeightedSampler<T> of(
+            Iterable<? extends ObjFloatPair<? extends T>> weighted) {
+        List<T> items = new ArrayList<>();
+        float[] weights = new float[16];
+        for (ObjFloatPair<? extends T> pair: weighted) {
+            if (items.size() == weights.length) {
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            weights[items.size()] = pair.getRight();
+            items.add(pair.getLeft());
+        }
+        return new WeightedSampler<>(items.toArray(), weights, items.size());
+    }
+
+    /**
+     * Builds a sampler over the given {@code (item, weight)} pairs.
+     *
+     * @param <T> the item type
+     * @param weighted  the items and their weights, not null
+     * @return a sampler over the items, not null
+     * @throws IllegalArgumentException if any weight is negative, infinite, or NaN, or if the
+     *         weights do not sum to a positive number
+     * @see #of(Iterable)
+     */
+    public static <T> WeightedSampler<T> of(ObjFloatPairList<? extends T> weighted) {
+        return new WeightedSampler<>(weighted.lefts, weighted.rights, weighted.size());
+    }
+
+    private final Object[] items;
+    private final float[] weights;
+    private final double[] prob;
+    private final int[] alias;
+    private final double totalWeight;
+
+    private WeightedSampler(Object[] items, float[] weights, int n) {
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            float w = weights[i];
+            if (!(w >= 0) || Float.isInfinite(w)) {
+                throw new IllegalArgumentException("invalid weight at index " + i + ": " + w);
+            }
+            total += w;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("weights must sum to a positive number");
+        }
+        this.items = Arrays.copyOf(items, n);
+        this.weights = Arrays.copyOf(weights, n);
+        this.totalWeight = total;
+        this.prob = new double[n];
+        this.alias = new int[n];
+
+        // Vose's alias method: scale each weight so that the average is 1, then repeatedly pair an
+        // under-full column with an over-full one that tops it up.
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int numSmall = 0;
+        int numLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
+            }
+        }
+        while (numSmall > 0 && numLarge > 0) {
+            int s = small[--numSmall];
+            int l = large[--numLarge];
+            prob[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1;
+            if (scaled[l] < 1) {
+                small[numSmall++] = l;
+            } else {
+                large[numLarge++] = l;
+            }
+        }
+        // Whatever remains is 1 up to rounding error, except that an item of weight zero must
+        // still never be drawn.
+        int positive = 0;
+        while (weights[positive] == 0) {
+            positive++;
+        }
+        while (numLarge > 0) {
+            int l = large[--numLarge];
+            prob[l] = 1;
+            alias[l] = l;
+        }
+        while (numSmall > 0) {
+            int s = small[--numSmall];
+            if (weights[s] == 0) {
+                prob[s] = 0;
+                alias[s] = positive;
+            } else {
+                prob[s] = 1;
+                alias[s] = s;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items, including any with a weight of zero.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Gets the item at the given index, in the order that the items were given.
+     *
+     * @param index  the index of the item
+     * @return the item, may be null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Gets the weight of the item at the given index.
+     *
+     * @param index  the index of the item
+     * @return the weight of the item
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public float getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Gets the sum of all weights.
+     *
+     * @return the total weight, positive
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Draws the index of an item.
+     *
+     * @param random  the source of randomness, not null
+     * @return the index of the drawn item
+     */
+    public int sampleIndex(Random random) {
+        int n = prob.length;
+        double u = random.nextDouble() * n;
+        int i = (int) u;
+        if (i == n) {
+            i--;
+        }
+        return u - i < prob[i] ? i : alias[i];
+    }
+
+    /**
+     * Draws an item.
+     *
+     * @param random  the source of randomness, not null
+     * @return the drawn item, may be null
+     */
+    public T sample(Random random) {
+        return get(sampleIndex(random));
+    }
+
+    /**
+     * Draws an item using {@link ThreadLocalRandom}.
+     *
+     * @return the drawn item, may be null
+     */
+    public T sample() {
+        return sample(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Draws {@code n} item indices with replacement, storing them in {@code out[0..n)}.
+     *
+     * @param random  the source of randomness, not null
+     * @param n  the number of draws
+     * @param out  the array that receives the indices, not null
+     * @throws IndexOutOfBoundsException if {@code n} is negative or greater than
+     *         {@code out.length}
+     */
+    public void sample(Random random, int n, int[] out) {
+        if (n < 0 || n > out.length) {
+            throw new IndexOutOfBoundsException("n " + n + ", array length " + out.length);
+        }
+        double[] p = prob;
+        int[] a = alias;
+        int size = p.length;
+        for (int k = 0; k < n; k++) {
+            double u = random.nextDouble() * size;
+            int i = (int) u;
+            if (i == size) {
+                i--;
+            }
+            out[k] = u - i < p[i] ? i : a[i];
+        }
+    }
+
+    /**
+     * Draws {@code n} item indices with replacement using {@link ThreadLocalRandom}, storing them
+     * in {@code out[0..n)}.
+     *
+     * @param n  the number of draws
+     * @param out  the array that receives the indices, not null
+     * @throws IndexOutOfBoundsException if {@code n} is negative or greater than
+     *         {@code out.length}
+     */
+    public void sample(int n, int[] out) {
+        sample(ThreadLocalRandom.current(), n, out);
+    }
+
+    /**
+     * A weighted reservoir sample of a stream, using the A-Res algorithm of Efraimidis and
+     * Spirakis. After any number of offers, the reservoir holds {@code k} items (or all of them, if
+     * fewer were offered) drawn without replacement, where each draw favors items in proportion to
+     * weight.
+     * <p>
+     * Each offer takes O(1) time when the item is rejected and O(log k) time when it is kept, and
+     * does not allocate.
+     * <p>
+     * Not #ThreadSafe#
+     *
+     * @param <T> the item type
+     */
+    public static final class Reservoir<T> {
+
+        private final Random random;
+        private final Object[] items;
+        private final float[] weights;
+        private final double[] keys;
+        private int size;
+
+        /**
+         * Creates a reservoir of capacity {@code k} that uses {@link ThreadLocalRandom}.
+         *
+         * @param k  the sample size, positive
+         * @throws IllegalArgumentException if {@code k} is not positive
+         */
+        public Reservoir(int k) {
+            this(k, null);
+        }
+
+        /**
+         * Creates a reservoir of capacity {@code k}.
+         *
+         * @param k  the sample size, positive
+         * @param random  the source of randomness, or null to use {@link ThreadLocalRandom}
+         * @throws IllegalArgumentException if {@code k} is not positive
+         */
+        public Reservoir(int k, Random random) {
+            if (k <= 0) {
+                throw new IllegalArgumentException("k must be positive: " + k);
+            }
+            this.random = random;
+            this.items = new Object[k];
+            this.weights = new float[k];
+            this.keys = new double[k];
+        }
+
+        /**
+         * Offers an item to the reservoir. Items with a weight of zero are never kept.
+         *
+         * @param item  the item, may be null
+         * @param weight  the weight of the item, not negative
+         * @return true if the item was kept, possibly displacing an earlier item
+         * @throws IllegalArgumentException if {@code weight} is negative, infinite, or NaN
+         */
+        public boolean offer(T item, float weight) {
+            if (!(weight >= 0) || Float.isInfinite(weight)) {
+                throw new IllegalArgumentException("invalid weight: " + weight);
+            }
+            if (weight == 0) {
+                return false;
+            }
+            Random r = random != null ? random : ThreadLocalRandom.current();
+            // log(u^(1/w)), which preserves the order of the A-Res keys without underflowing.
+            double key = Math.log(r.nextDouble()) / weight;
+            if (size < items.length) {
+                items[size] = item;
+                weights[size] = weight;
+                keys[size] = key;
+                siftUp(size++);
+                return true;
+            }
+            if (key <= keys[0]) {
+                return false;
+            }
+            items[0] = item;
+            weights[0] = weight;
+            keys[0] = key;
+            siftDown(0);
+            return true;
+        }
+
+        /**
+         * Offers an {@code (item, weight)} pair to the reservoir.
+         *
+         * @param pair  the item and its weight, not null
+         * @return true if the item was kept, possibly displacing an earlier item
+         * @throws IllegalArgumentException if the weight is negative, infinite, or NaN
+         * @see #offer(Object, float)
+         */
+        public boolean offer(ObjFloatPair<? extends T> pair) {
+            return offer(pair.getLeft(), pair.getRight());
+        }
+
+        /**
+         * Returns the number of items currently held.
+         *
+         * @return the number of items, at most the capacity
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the sampled items with their weights, in no particular order.
+         *
+         * @return a new list of the sampled {@code (item, weight)} pairs, not null
+         */
+        @SuppressWarnings("unchecked")
+        public List<ImmutableObjFloatPair<T>> toList() {
+            List<ImmutableObjFloatPair<T>> sample = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                sample.add(ImmutableObjFloatPair.of((T) items[i], weights[i]));
+            }
+            return sample;
+        }
+
+        /**
+         * Removes all items from the reservoir.
+         */
+        public void clear() {
+            Arrays.fill(items, 0, size, null);
+            size = 0;
+        }
+
+        private void siftUp(int k) {
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (keys[parent] <= keys[k]) {
+                    break;
+                }
+                swap(parent, k);
+                k = parent;
+            }
+        }
+
+        private void siftDown(int k) {
+            int half = size >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[k] <= keys[child]) {
+                    break;
+                }
+                swap(k, child);
+                k = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Object item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+            float weight = weights[i];
+            weights[i] = weights[j];
+            weights[j] = weight;
+            double key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+        }
+    }
+}
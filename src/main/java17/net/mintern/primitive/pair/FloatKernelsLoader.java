@@ -0,0 +1,41 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+/**
+ * Chooses the {@link FloatKernels} implementation. This is the Java 17 version, selected from the
+ * multi-release JAR, which uses {@link VectorFloatKernels} if the incubating
+ * {@code jdk.incubator.vector} module has been added to the JVM (for example with
+ * {@code --add-modules jdk.incubator.vector}) and falls back to the scalar kernels otherwise.
+ *
+ * @author Brandon Mintern
+ */
+final class FloatKernelsLoader {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private FloatKernelsLoader() {}
+
+    static FloatKernels load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                // Loaded reflectively so that nothing links against the module when it is absent.
+                return (FloatKernels) Class.forName(FloatKernelsLoader.class.getPackageName()
+                        + ".VectorFloatKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernels.
+            }
+        }
+        return new FloatKernels();
+    }
+}
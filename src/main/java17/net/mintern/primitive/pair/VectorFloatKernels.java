@@ -0,0 +1,107 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link FloatKernels} implemented with the Vector API at the platform's preferred vector width.
+ * Each kernel processes whole vectors and finishes the remaining elements with the scalar loop,
+ * producing exactly the same results as the scalar kernels.
+ *
+ * @author Brandon Mintern
+ */
+final class VectorFloatKernels extends FloatKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    VectorFloatKernels() {}
+
+    @Override
+    int indicesGreaterThan(float[] values, int length, float threshold, int[] out) {
+        int n = 0;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            VectorMask<Float> gt = FloatVector.fromArray(SPECIES, values, i)
+                    .compare(VectorOperators.GT, threshold);
+            for (long bits = gt.toLong(); bits != 0; bits &= bits - 1) {
+                out[n++] = i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        for (; i < length; i++) {
+            if (values[i] > threshold) {
+                out[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    void squaredDistances(float[] xs, float[] ys, int length, float x, float y, float[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            FloatVector dx = FloatVector.fromArray(SPECIES, xs, i).sub(x);
+            FloatVector dy = FloatVector.fromArray(SPECIES, ys, i).sub(y);
+            dx.mul(dx).add(dy.mul(dy)).intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            out[i] = dx * dx + dy * dy;
+        }
+    }
+
+    @Override
+    float max(float[] values, int length) {
+        FloatVector acc = FloatVector.broadcast(SPECIES, Float.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            FloatVector v = FloatVector.fromArray(SPECIES, values, i);
+            // Lanes that are NaN keep their previous maximum.
+            acc = acc.blend(v, v.compare(VectorOperators.GT, acc));
+        }
+        float max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    int indexOf(float[] values, int length, float value) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            VectorMask<Float> eq = FloatVector.fromArray(SPECIES, values, i)
+                    .compare(VectorOperators.EQ, value);
+            if (eq.anyTrue()) {
+                return i + eq.firstTrue();
+            }
+        }
+        for (; i < length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Brandon Mintern licenses this file to You under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package net.mintern.primitive.pair;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Bulk operations on the arrays that back the pair containers in this package.
+ * <p>
+ * This is the Java 9 implementation, selected from the multi-release JAR on Java 9 and later. The
+ * range comparisons use {@code Arrays.equals}, which is built on the intrinsified, vectorized
+ * {@code mismatch} support of the JDK, and the byte encodings use {@code VarHandle} views that
+ * read and write a whole element at once.
+ *
+ * @author Brandon Mintern
+ */
+final class PairArrays {
+
+    private static final VarHandle INTS =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private PairArrays() {}
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(boolean[] a, boolean[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(byte[] a, byte[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(char[] a, char[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(int[] a, int[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     */
+    static boolean equals(long[] a, long[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link Float#equals(Object)}.
+     */
+    static boolean equals(float[] a, float[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link Double#equals(Object)}.
+     */
+    static boolean equals(double[] a, double[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Returns true if the first {@code length} elements of {@code a} and {@code b} are equal.
+     * Elements are compared as by {@link java.util.Objects#equals(Object, Object)}.
+     */
+    static boolean equals(Object[] a, Object[] b, int length) {
+        return Arrays.equals(a, 0, length, b, 0, length);
+    }
+
+    /**
+     * Reads a big-endian {@code int} from {@code bytes[offset..offset + 4)}.
+     */
+    static int getInt(byte[] bytes, int offset) {
+        return (int) INTS.get(bytes, offset);
+    }
+
+    /**
+     * Writes a big-endian {@code int} to {@code bytes[offset..offset + 4)}.
+     */
+    static void putInt(byte[] bytes, int offset, int value) {
+        INTS.set(bytes, offset, value);
+    }
+
+    /**
+     * Reads a big-endian {@code long} from {@code bytes[offset..offset + 8)}.
+     */
+    static long getLong(byte[] bytes, int offset) {
+        return (long) LONGS.get(bytes, offset);
+    }
+
+    /**
+     * Writes a big-endian {@code long} to {@code bytes[offset..offset + 8)}.
+     */
+    static void putLong(byte[] bytes, int offset, long value) {
+        LONGS.set(bytes, offset, value);
+    }
+}